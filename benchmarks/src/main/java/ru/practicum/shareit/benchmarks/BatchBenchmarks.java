@@ -0,0 +1,114 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BatchBenchmarks {
+    @Param({"10", "100", "1000"})
+    private int batchSize;
+
+    @Param({"per-row", "pooled"})
+    private String idAllocation;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private UserService userService;
+    private long ownerId;
+    private long emailSequence;
+    private List<ItemDto> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean pooled = "pooled".equals(idAllocation);
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:batch-benchmarks;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database=h2",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.shareit.id.allocation-size=" + (pooled ? 50 : 1),
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + (pooled ? 50 : 0),
+                        "--shareit.search.mode=like",
+                        "--logging.level.root=warn",
+                        "--logging.level.ru.practicum.shareit=warn");
+        itemService = context.getBean(ItemService.class);
+        userService = context.getBean(UserService.class);
+        ownerId = userService.create(nextUser()).getId();
+        items = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            items.add(ItemDto.builder()
+                    .name("Дрель " + i)
+                    .description("описание вещи " + i)
+                    .available(true)
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> createItemsOneByOne() {
+        List<ItemDto> created = new ArrayList<>(items.size());
+        for (ItemDto item : items) {
+            created.add(itemService.create(ownerId, item));
+        }
+        return created;
+    }
+
+    @Benchmark
+    public List<BatchResult<ItemDto>> createItemsBatch() {
+        return itemService.createAll(ownerId, items);
+    }
+
+    @Benchmark
+    public List<UserDto> createUsersOneByOne() {
+        List<UserDto> created = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            created.add(userService.create(nextUser()));
+        }
+        return created;
+    }
+
+    @Benchmark
+    public List<BatchResult<UserDto>> createUsersBatch() {
+        List<UserDto> users = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            users.add(nextUser());
+        }
+        return userService.createAll(users);
+    }
+
+    private UserDto nextUser() {
+        long n = emailSequence++;
+        return UserDto.builder()
+                .name("user" + n)
+                .email("user" + n + "@ya.ru")
+                .build();
+    }
+}
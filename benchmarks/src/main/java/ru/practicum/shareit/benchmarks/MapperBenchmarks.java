@@ -0,0 +1,107 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingFinishDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.RequestDtoItems;
+import ru.practicum.shareit.request.dto.RequestMapper;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmarks {
+    private static final int REQUEST_ITEMS = 10;
+
+    private Item item;
+    private Booking booking;
+    private Request request;
+    private Map<Long, BookingDto> lastBookings;
+    private Map<Long, BookingDto> nextBookings;
+    private Map<Long, List<Item>> itemsByRequestId;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = User.builder().id(1L).name("Владелец").email("owner@ya.ru").build();
+        User booker = User.builder().id(2L).name("Арендатор").email("booker@ya.ru").build();
+        request = Request.builder()
+                .id(1L)
+                .description("Нужна дрель")
+                .user(booker)
+                .creationTime(now)
+                .build();
+        item = Item.builder()
+                .id(1L)
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build();
+        booking = Booking.builder()
+                .id(1L)
+                .item(item)
+                .booker(booker)
+                .status(Status.APPROVED)
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .build();
+        lastBookings = Map.of(item.getId(), BookingMapper.toBookingDto(booking));
+        nextBookings = Map.of();
+
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= REQUEST_ITEMS; id++)
+            items.add(Item.builder()
+                    .id(id)
+                    .name(item.getName())
+                    .description(item.getDescription())
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+        itemsByRequestId = Map.of(request.getId(), items);
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemDtoWithBookings itemToItemDtoWithBookings() {
+        return ItemMapper.toItemDtoWithBookings(item, lastBookings, nextBookings);
+    }
+
+    @Benchmark
+    public BookingDto bookingToBookingDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public BookingFinishDto bookingToBookingFinishDto() {
+        return BookingMapper.toBookingFinishDto(booking);
+    }
+
+    @Benchmark
+    public RequestDtoItems requestToRequestDtoItems() {
+        return RequestMapper.toRequestDtoItems(request, itemsByRequestId);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.errors.exceptions.IllegalPaginationException;
+import ru.practicum.shareit.pagination.Pagination;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationBenchmarks {
+    private final Sort sort = Sort.by(Sort.Direction.DESC, "start", "id");
+    private int from = 20;
+    private int size = 10;
+    private int invalidFrom = -1;
+
+    @Benchmark
+    public Pageable unsorted() {
+        return Pagination.of(from, size);
+    }
+
+    @Benchmark
+    public Pageable sorted() {
+        return Pagination.of(from, size, sort);
+    }
+
+    @Benchmark
+    public Object rejected() {
+        try {
+            return Pagination.of(invalidFrom, size);
+        } catch (IllegalPaginationException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingFinishDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmarks {
+    private static final int USERS = 1_000;
+    private static final int ITEMS = 20_000;
+    private static final int BOOKINGS = 200_000;
+    private static final int PAGE_SIZE = 20;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database=h2",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--shareit.search.mode=like",
+                        "--logging.level.root=warn",
+                        "--logging.level.ru.practicum.shareit=warn");
+        seed(context.getBean(JdbcTemplate.class));
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBookings> findByOwner() {
+        return itemService.findByOwner(randomUserId(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchText() {
+        return itemService.searchText("дрель", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingFinishDto> getUserBookings(BookingQuery query) {
+        return bookingService.getUserBookings(randomUserId(), query.state, 0, PAGE_SIZE);
+    }
+
+    private static long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, USERS + 1);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("insert into users (user_name, email) " +
+                "select 'user' || x, 'user' || x || '@ya.ru' from system_range(1, " + USERS + ")");
+        jdbcTemplate.execute("insert into item_request (request_description, user_id, creation_time) " +
+                "select 'request' || x, mod(x, " + USERS + ") + 1, now() - x * interval '1' minute " +
+                "from system_range(1, " + ITEMS / 10 + ")");
+        jdbcTemplate.execute("insert into item (item_name, item_description, is_available, owner_id, request_id) " +
+                "select array_get(array['Дрель', 'Велосипед', 'Палатка', 'Шуруповёрт', 'Лодка'], mod(x, 5) + 1), " +
+                "'описание вещи ' || x, mod(x, 10) <> 0, mod(x, " + USERS + ") + 1, " +
+                "casewhen(mod(x, 10) = 0, mod(x, " + ITEMS / 10 + ") + 1, null) " +
+                "from system_range(1, " + ITEMS + ")");
+        jdbcTemplate.execute("insert into booking (start_date, end_date, item_id, booker_id, status) " +
+                "select now() + (x - " + BOOKINGS / 2 + ") * interval '1' hour, " +
+                "now() + (x - " + BOOKINGS / 2 + " + 24) * interval '1' hour, " +
+                "mod(x, " + ITEMS + ") + 1, mod(x * 7, " + USERS + ") + 1, " +
+                "array_get(array['WAITING', 'APPROVED', 'REJECTED', 'CANCELED'], mod(x, 4) + 1) " +
+                "from system_range(1, " + BOOKINGS + ")");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @State(Scope.Benchmark)
+    public static class BookingQuery {
+        @Param({"ALL", "PAST", "FUTURE", "WAITING"})
+        private String state;
+    }
+}
@@ -1,52 +1,62 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.ResponseCache;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.errors.BadRequestException;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final ResponseCache cache;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public BookingClient(ServerClientFactory factory, ResponseCache cache) {
+        super(factory.create(API_PREFIX));
+        this.cache = cache;
     }
 
-    public ResponseEntity<Object> create(long userId, BookingDto bookingDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, BookingDto bookingDto) {
         if (bookingDto.getStart().isAfter(bookingDto.getEnd()))
             throw new BadRequestException("Начало бронирования должно быть раньше его завершения");
 
-        return post("", userId, bookingDto);
+        return post("", userId, bookingDto)
+                .doOnTerminate(() -> cache.evict(ResponseCache.ITEMS, String.valueOf(bookingDto.getItemId())));
     }
 
-    public ResponseEntity<Object> update(long userId, long bookingId, boolean isApproved) {
+    public Mono<ResponseEntity<Object>> update(long userId, long bookingId, boolean isApproved) {
         Map<String, Object> parameters = Map.of(
                 "approved", isApproved
         );
 
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null)
+                .doOnTerminate(() -> cache.evictAll(ResponseCache.ITEMS));
     }
 
-    public ResponseEntity<Object> findById(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> updateAll(long userId, List<Long> bookingIds, boolean isApproved) {
+        Map<String, Object> parameters = Map.of(
+                "approved", isApproved
+        );
+
+        return patch("/batch?approved={approved}", userId, parameters, bookingIds)
+                .doOnTerminate(() -> cache.evictAll(ResponseCache.ITEMS));
+    }
+
+    public Mono<ResponseEntity<Object>> findById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getUserBookings(long userId, BookingState state, int from, int size) {
+    public Mono<ResponseEntity<Object>> getUserBookings(long userId, BookingState state, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -56,7 +66,17 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findBookingsByOwner(long userId, BookingState state, int from, int size) {
+    public Mono<ResponseEntity<Object>> getUserBookings(long userId, BookingState state, String after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after,
+                "size", size
+        );
+
+        return get("?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findBookingsByOwner(long userId, BookingState state, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -65,4 +85,14 @@ public class BookingClient extends BaseClient {
 
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    public Mono<ResponseEntity<Object>> findBookingsByOwner(long userId, BookingState state, String after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after,
+                "size", size
+        );
+
+        return get("/owner?state={state}&after={after}&size={size}", userId, parameters);
+    }
 }
@@ -6,13 +6,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.errors.BadRequestException;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -24,52 +29,71 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @RequestBody @Valid BookingDto bookingDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @RequestBody @Valid BookingDto bookingDto) {
         log.info("Бронирование {} создано пользователем {}", bookingDto, userId);
         return bookingClient.create(userId, bookingDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @PathVariable @Positive long bookingId,
-                                         @RequestParam(value = "approved") boolean isApproved) {
+    public Mono<ResponseEntity<Object>> update(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @PathVariable @Positive long bookingId,
+                                               @RequestParam(value = "approved") boolean isApproved) {
         log.info("Бронирование {} обновлено пользователем {}, статус {}", bookingId, userId, isApproved);
         return bookingClient.update(userId, bookingId, isApproved);
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> updateAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @RequestParam(value = "approved") boolean isApproved,
+                                                  @RequestBody @NotEmpty @Size(max = 1000)
+                                                  List<@NotNull @Positive Long> bookingIds) {
+        log.info("Пакетное обновление {} бронирований пользователем {}, статус {}", bookingIds.size(), userId,
+                isApproved);
+        return bookingClient.updateAll(userId, bookingIds, isApproved);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> findById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @PathVariable @Positive Long bookingId) {
+    public Mono<ResponseEntity<Object>> findById(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @PathVariable @Positive Long bookingId) {
         log.info("Получение бронирования {} от пользователя {}", bookingId, userId);
         return bookingClient.findById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(name = "state", defaultValue = "ALL", required =
-                                                          false) String stateParam,
-                                                  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
-                                                  @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                        @RequestParam(name = "state", defaultValue = "ALL",
+                                                                required = false) String stateParam,
+                                                        @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                                        int from,
+                                                        @Positive @RequestParam(name = "size", defaultValue = "10")
+                                                        int size,
+                                                        @RequestParam(name = "after", required = false) String after) {
         BookingState state = BookingState.isBookingState(stateParam)
                 .orElseThrow(() -> new BadRequestException("Unknown state: " + stateParam));
-        log.info("Список бронирований пользователя с параметрами state={}, userId={}, from={}, size={}", stateParam,
-                userId, from, size);
+        log.info("Список бронирований пользователя с параметрами state={}, userId={}, from={}, size={}, after={}",
+                stateParam, userId, from, size, after);
+        if (after != null)
+            return bookingClient.getUserBookings(userId, state, after, size);
         return bookingClient.getUserBookings(userId, state, from, size);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                                     @RequestParam(name = "state", defaultValue = "ALL", required =
-                                                             false) String stateParam,
-                                                     @PositiveOrZero @RequestParam(defaultValue = "0", required =
-                                                             false) int from,
-                                                     @Positive @RequestParam(defaultValue = "10", required = false) int size) {
-        log.info("Получение бронирований владельца с id={}, где state={}, from={}, size={}", ownerId, stateParam,
-                from, size);
+    public Mono<ResponseEntity<Object>> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                           @RequestParam(name = "state", defaultValue = "ALL",
+                                                                   required = false) String stateParam,
+                                                           @PositiveOrZero @RequestParam(defaultValue = "0",
+                                                                   required = false) int from,
+                                                           @Positive @RequestParam(defaultValue = "10",
+                                                                   required = false) int size,
+                                                           @RequestParam(required = false) String after) {
+        log.info("Получение бронирований владельца с id={}, где state={}, from={}, size={}, after={}", ownerId,
+                stateParam, from, size, after);
         BookingState state = BookingState.isBookingState(stateParam)
                 .orElseThrow(() -> new BadRequestException("Unknown state: " + stateParam));
 
+        if (after != null)
+            return bookingClient.findBookingsByOwner(ownerId, state, after, size);
         return bookingClient.findBookingsByOwner(ownerId, state, from, size);
     }
 }
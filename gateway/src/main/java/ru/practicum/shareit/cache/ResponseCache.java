@@ -0,0 +1,160 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReadPrimary;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Component
+public class ResponseCache {
+    public static final String ITEMS = "items";
+    public static final String USERS = "users";
+    public static final String REQUESTS = "requests";
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<Key, Entry> entries;
+    private final Map<Key, Object> loads = new HashMap<>();
+    private final Map<String, Region> regions = new HashMap<>();
+    private final Counter evictions;
+
+    @Autowired
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${shareit.response-cache.max-size:10000}") int maxSize,
+                         @Value("${shareit.response-cache.ttl:30s}") Duration ttl,
+                         @Value("${shareit.response-cache.items.enabled:true}") boolean itemsEnabled,
+                         @Value("${shareit.response-cache.users.enabled:true}") boolean usersEnabled,
+                         @Value("${shareit.response-cache.requests.enabled:true}") boolean requestsEnabled) {
+        this(meterRegistry, maxSize, ttl, Map.of(ITEMS, itemsEnabled, USERS, usersEnabled, REQUESTS, requestsEnabled),
+                Clock.systemUTC());
+    }
+
+    public ResponseCache(MeterRegistry meterRegistry, int maxSize, Duration ttl, Map<String, Boolean> enabled,
+                         Clock clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= ResponseCache.this.maxSize) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+        enabled.forEach((name, isEnabled) -> regions.put(name, new Region(name, isEnabled, meterRegistry)));
+        this.evictions = Counter.builder("cache.evictions").tag("cache", "gateway").register(meterRegistry);
+        Gauge.builder("cache.size", this, ResponseCache::size).tag("cache", "gateway").register(meterRegistry);
+    }
+
+    public Mono<ResponseEntity<Object>> get(String region, String resource, String request,
+                                            Supplier<Mono<ResponseEntity<Object>>> loader) {
+        Region cacheRegion = regions.get(region);
+        if (cacheRegion == null || !cacheRegion.enabled || ReadPrimary.isRequested()) {
+            return loader.get();
+        }
+
+        Key key = new Key(region, resource, request);
+        Object load = new Object();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > clock.millis()) {
+                cacheRegion.hits.increment();
+                return Mono.just(entry.response);
+            }
+            if (entry != null) entries.remove(key);
+            loads.put(key, load);
+        }
+        cacheRegion.misses.increment();
+
+        return loader.get()
+                .doOnNext(response -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) return;
+                    synchronized (this) {
+                        if (loads.get(key) == load)
+                            entries.put(key, new Entry(response, clock.millis() + ttlMillis));
+                    }
+                })
+                .doFinally(signal -> {
+                    synchronized (this) {
+                        loads.remove(key, load);
+                    }
+                });
+    }
+
+    // Ещё загружающиеся ответы ресурса тоже не сохраняются: они могли быть прочитаны до изменения.
+    public synchronized void evict(String region, String resource) {
+        Predicate<Key> evicted = key -> key.region.equals(region) && key.resource.equals(resource);
+        entries.keySet().removeIf(evicted);
+        loads.keySet().removeIf(evicted);
+    }
+
+    public synchronized void evictAll(String region) {
+        Predicate<Key> evicted = key -> key.region.equals(region);
+        entries.keySet().removeIf(evicted);
+        loads.keySet().removeIf(evicted);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        loads.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static double hitRatio(Region region) {
+        long hits = region.hits.sum();
+        long gets = hits + region.misses.sum();
+        return gets == 0 ? 0 : (double) hits / gets;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final String region;
+        private final String resource;
+        private final String request;
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final ResponseEntity<Object> response;
+        private final long expiresAt;
+    }
+
+    private static class Region {
+        private final boolean enabled;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private Region(String name, boolean enabled, MeterRegistry meterRegistry) {
+            this.enabled = enabled;
+            String cache = "gateway." + name;
+            FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                    .tag("cache", cache).tag("result", "hit").register(meterRegistry);
+            FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                    .tag("cache", cache).tag("result", "miss").register(meterRegistry);
+            Gauge.builder("cache.hit.ratio", this, ResponseCache::hitRatio)
+                    .tag("cache", cache).register(meterRegistry);
+        }
+    }
+}
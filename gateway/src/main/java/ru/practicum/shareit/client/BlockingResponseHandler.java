@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+// В режиме blocking ответ сервера получается в потоке контроллера, поэтому Mono разрешается сразу, без async dispatch.
+@Component
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "blocking", matchIfMissing = true)
+public class BlockingResponseHandler implements HandlerMethodReturnValueHandler, InitializingBean {
+    private final RequestMappingHandlerAdapter handlerAdapter;
+    private HandlerMethodReturnValueHandler responseEntityHandler;
+
+    public BlockingResponseHandler(RequestMappingHandlerAdapter handlerAdapter) {
+        this.handlerAdapter = handlerAdapter;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(handlerAdapter.getReturnValueHandlers());
+        responseEntityHandler = handlers.stream()
+                .filter(handler -> handler instanceof HttpEntityMethodProcessor)
+                .findFirst()
+                .orElseThrow();
+        handlers.add(0, this);
+        handlerAdapter.setReturnValueHandlers(handlers);
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return Mono.class.isAssignableFrom(returnType.getParameterType())
+                && responseEntityHandler.supportsReturnType(new MonoValueType(returnType.nested()));
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest) throws Exception {
+        Object response = returnValue == null ? null : ((Mono<?>) returnValue).block();
+        responseEntityHandler.handleReturnValue(response, new MonoValueType(returnType.nested()), mavContainer,
+                webRequest);
+    }
+
+    private static class MonoValueType extends MethodParameter {
+        private final Class<?> type;
+        private final Type genericType;
+
+        private MonoValueType(MethodParameter nested) {
+            super(nested);
+            this.type = nested.getNestedParameterType();
+            this.genericType = nested.getNestedGenericParameterType();
+        }
+
+        private MonoValueType(MonoValueType original) {
+            super(original);
+            this.type = original.type;
+            this.genericType = original.genericType;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            return type;
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return genericType;
+        }
+
+        @Override
+        public MonoValueType clone() {
+            return new MonoValueType(this);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+public final class ReadPrimary {
+    public static final String HEADER = "X-Sharer-Read-Primary";
+
+    private static final String CONTEXT_KEY = ReadPrimary.class.getName();
+
+    private ReadPrimary() {
+    }
+
+    public static boolean isRequested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) return false;
+        return Boolean.parseBoolean(((ServletRequestAttributes) attributes).getRequest().getHeader(HEADER));
+    }
+
+    static boolean isRequested(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, false);
+    }
+
+    static Context requested() {
+        return Context.of(CONTEXT_KEY, true);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class RestTemplateServerClient implements ServerClient {
+    private final RestTemplate rest;
+
+    public RestTemplateServerClient(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                     @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> makeAndSendRequest(method, path,
+                ServerClient.defaultHeaders(userId, ReadPrimary.isRequested(context)), parameters, body)));
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, HttpHeaders headers,
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<byte[]> shareItServerResponse;
+        try {
+            if (parameters != null) {
+                shareItServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareItServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            HttpHeaders responseHeaders = e.getResponseHeaders() != null ? e.getResponseHeaders() : HttpHeaders.EMPTY;
+            return ServerClient.passThrough(e.getStatusCode(), responseHeaders, e.getResponseBodyAsByteArray());
+        }
+        return ServerClient.passThrough(shareItServerResponse.getStatusCode(), shareItServerResponse.getHeaders(),
+                shareItServerResponse.getBody());
+    }
+}
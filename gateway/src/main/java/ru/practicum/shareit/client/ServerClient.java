@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public interface ServerClient {
+    // Заголовки соединения (RFC 7230, 6.1) и длина тела относятся к ответу сервера, а не gateway.
+    Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+            "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+
+    <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                              @Nullable Map<String, Object> parameters, @Nullable T body);
+
+    static HttpHeaders defaultHeaders(@Nullable Long userId, boolean readPrimary) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        if (readPrimary) {
+            headers.set(ReadPrimary.HEADER, "true");
+        }
+        return headers;
+    }
+
+    static ResponseEntity<Object> passThrough(HttpStatus status, HttpHeaders headers, @Nullable byte[] body) {
+        Set<String> connectionHeaders = headers.getConnection().stream()
+                .map(header -> header.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        HttpHeaders forwarded = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String header = name.toLowerCase(Locale.ROOT);
+            if (!HOP_BY_HOP_HEADERS.contains(header) && !connectionHeaders.contains(header))
+                forwarded.addAll(name, values);
+        });
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status).headers(forwarded);
+        return body != null && body.length > 0 ? response.body(body) : response.build();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+public class ServerClientFactory {
+    private final String serverUrl;
+    private final ServerClientMode mode;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final WebClient.Builder webClientBuilder;
+    private final ServerConnectionPool connectionPool;
+    private final boolean singleFlight;
+    private final Duration singleFlightMaxWait;
+
+    public ServerClientFactory(@Value("${shareit-server.url}") String serverUrl,
+                               @Value("${shareit-server.client:blocking}") ServerClientMode mode,
+                               @Value("${shareit-server.single-flight.enabled:true}") boolean singleFlight,
+                               @Value("${shareit-server.single-flight.max-wait:5s}") Duration singleFlightMaxWait,
+                               ServerConnectionPool connectionPool,
+                               RestTemplateBuilder restTemplateBuilder, WebClient.Builder webClientBuilder) {
+        this.serverUrl = serverUrl;
+        this.mode = mode;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.webClientBuilder = webClientBuilder;
+        this.connectionPool = connectionPool;
+        this.singleFlight = singleFlight;
+        this.singleFlightMaxWait = singleFlightMaxWait;
+        log.info("Клиент сервера ShareIt работает в режиме {}", mode);
+    }
+
+    public ServerClient create(String apiPrefix) {
+        ServerClient client = createTransport(apiPrefix);
+        return singleFlight ? new SingleFlightServerClient(client, singleFlightMaxWait) : client;
+    }
+
+    private ServerClient createTransport(String apiPrefix) {
+        if (mode == ServerClientMode.REACTIVE) {
+            return new WebClientServerClient(webClientBuilder.clone()
+                    .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                    .clientConnector(new ReactorClientHttpConnector(connectionPool.reactorClient()))
+                    .build());
+        }
+        return new RestTemplateServerClient(restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(connectionPool::requestFactory)
+                .build());
+    }
+}
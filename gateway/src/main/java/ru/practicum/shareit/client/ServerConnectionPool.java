@@ -0,0 +1,138 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class ServerConnectionPool implements DisposableBean {
+    private static final String POOL_NAME = "shareit-server";
+    private final int maxTotal;
+    private final int maxPerRoute;
+    private final Duration keepAlive;
+    private final Duration idleTimeout;
+    private final Duration validateAfterInactivity;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration acquireTimeout;
+    private final int maxPendingAcquires;
+    private final MeterRegistry meterRegistry;
+    private CloseableHttpClient httpClient;
+    private HttpComponentsClientHttpRequestFactory requestFactory;
+    private ConnectionProvider connectionProvider;
+    private HttpClient reactorClient;
+
+    public ServerConnectionPool(@Value("${shareit-server.pool.max-total:200}") int maxTotal,
+                                @Value("${shareit-server.pool.max-per-route:200}") int maxPerRoute,
+                                @Value("${shareit-server.pool.keep-alive:30s}") Duration keepAlive,
+                                @Value("${shareit-server.pool.idle-timeout:30s}") Duration idleTimeout,
+                                @Value("${shareit-server.pool.validate-after-inactivity:#{null}}")
+                                Duration validateAfterInactivity,
+                                @Value("${shareit-server.pool.connect-timeout:2s}") Duration connectTimeout,
+                                @Value("${shareit-server.pool.read-timeout:30s}") Duration readTimeout,
+                                @Value("${shareit-server.pool.acquire-timeout:5s}") Duration acquireTimeout,
+                                @Value("${shareit-server.pool.max-pending-acquires:1000}") int maxPendingAcquires,
+                                MeterRegistry meterRegistry) {
+        this.maxTotal = maxTotal;
+        this.maxPerRoute = maxPerRoute;
+        this.keepAlive = keepAlive;
+        this.idleTimeout = idleTimeout;
+        this.validateAfterInactivity = validateAfterInactivity;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.acquireTimeout = acquireTimeout;
+        this.maxPendingAcquires = maxPendingAcquires;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public synchronized HttpComponentsClientHttpRequestFactory requestFactory() {
+        if (requestFactory == null) {
+            PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(maxTotal);
+            connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+            if (validateAfterInactivity != null) {
+                connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+            }
+            new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME)
+                    .bindTo(meterRegistry);
+
+            httpClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setKeepAliveStrategy(keepAliveStrategy())
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectTimeout((int) connectTimeout.toMillis())
+                            .setSocketTimeout((int) readTimeout.toMillis())
+                            .setConnectionRequestTimeout((int) acquireTimeout.toMillis())
+                            .build())
+                    .evictExpiredConnections()
+                    .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .build();
+            requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+            log.info("Создан пул соединений с сервером: всего {}, на маршрут {}", maxTotal, maxPerRoute);
+        }
+        return requestFactory;
+    }
+
+    public synchronized HttpClient reactorClient() {
+        if (reactorClient == null) {
+            if (validateAfterInactivity != null) {
+                throw new IllegalStateException("Свойство shareit-server.pool.validate-after-inactivity "
+                        + "не поддерживается в режиме reactive");
+            }
+            // Reactor Netty держит отдельный пул на каждый адрес сервера, поэтому лимит задаётся на маршрут.
+            connectionProvider = ConnectionProvider.builder(POOL_NAME)
+                    .maxConnections(Math.min(maxTotal, maxPerRoute))
+                    .pendingAcquireMaxCount(maxPendingAcquires)
+                    .pendingAcquireTimeout(acquireTimeout)
+                    .maxIdleTime(keepAlive.compareTo(idleTimeout) < 0 ? keepAlive : idleTimeout)
+                    .evictInBackground(idleTimeout)
+                    .metrics(true)
+                    .build();
+            reactorClient = HttpClient.create(connectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                    .responseTimeout(readTimeout);
+            log.info("Создан пул соединений с сервером: на маршрут {}, в очереди {}",
+                    connectionProvider.maxConnections(), maxPendingAcquires);
+        }
+        return reactorClient;
+    }
+
+    ConnectionProvider connectionProvider() {
+        return connectionProvider;
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+    }
+
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive.toMillis()) : keepAlive.toMillis();
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.client;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SingleFlightServerClient implements ServerClient {
+    private final ServerClient delegate;
+    private final Duration maxWait;
+    private final ConcurrentMap<Key, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightServerClient(ServerClient delegate, Duration maxWait) {
+        this.delegate = delegate;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                     @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, userId, parameters, body);
+        }
+
+        return Mono.deferContextual(context -> {
+            if (ReadPrimary.isRequested(context)) {
+                return delegate.exchange(method, path, userId, parameters, body);
+            }
+            Key key = new Key(path, userId, parameters);
+            AtomicReference<Mono<ResponseEntity<Object>>> self = new AtomicReference<>();
+            Mono<ResponseEntity<Object>> leader = delegate.exchange(method, path, userId, parameters, body)
+                    .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(leader);
+            Mono<ResponseEntity<Object>> shared = inFlight.putIfAbsent(key, leader);
+            if (shared == null) {
+                return leader;
+            }
+            return shared.timeout(maxWait, delegate.exchange(method, path, userId, parameters, body));
+        });
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final String path;
+        private final Long userId;
+        private final Map<String, Object> parameters;
+    }
+}
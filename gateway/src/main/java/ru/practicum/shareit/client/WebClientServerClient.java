@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class WebClientServerClient implements ServerClient {
+    private final WebClient web;
+
+    public WebClientServerClient(WebClient web) {
+        this.web = web;
+    }
+
+    @Override
+    public <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                     @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return Mono.deferContextual(context -> {
+            WebClient.RequestBodySpec request = (parameters != null ? web.method(method).uri(path, parameters) :
+                    web.method(method).uri(path))
+                    .headers(headers -> headers.addAll(ServerClient.defaultHeaders(userId,
+                            ReadPrimary.isRequested(context))));
+            WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+            return requestWithBody.exchangeToMono(response -> response.toEntity(byte[].class));
+        }).map(response -> ServerClient.passThrough(response.getStatusCode(), response.getHeaders(),
+                response.getBody()));
+    }
+}
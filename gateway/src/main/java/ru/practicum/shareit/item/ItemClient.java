@@ -1,48 +1,69 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.ResponseCache;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
+import ru.practicum.shareit.errors.BadRequestException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final ResponseCache cache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemClient(ServerClientFactory factory, ResponseCache cache) {
+        super(factory.create(API_PREFIX));
+        this.cache = cache;
+    }
+
+    public Mono<ResponseEntity<Object>> create(long userId, ItemDto itemDto) {
+        return post("", userId, itemDto)
+                .doOnTerminate(() -> {
+                    if (itemDto.getRequestId() != null)
+                        cache.evict(ResponseCache.REQUESTS, String.valueOf(itemDto.getRequestId()));
+                });
     }
 
-    public ResponseEntity<Object> create(long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+    public Mono<ResponseEntity<Object>> createAll(long userId, List<ItemDto> items) {
+        return post("/batch", userId, items)
+                .doOnTerminate(() -> items.stream()
+                        .map(ItemDto::getRequestId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .forEach(requestId -> cache.evict(ResponseCache.REQUESTS, String.valueOf(requestId))));
     }
 
-    public ResponseEntity<Object> createComment(long userId, CommentDto commentDto, long itemId) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    public Mono<ResponseEntity<Object>> createComment(long userId, CommentDto commentDto, long itemId) {
+        return post("/" + itemId + "/comment", userId, commentDto)
+                .doOnTerminate(() -> cache.evict(ResponseCache.ITEMS, String.valueOf(itemId)));
     }
 
-    public ResponseEntity<Object> update(long userId, ItemDto itemDto, long itemId) {
-        return patch("/" + itemId, userId, itemDto);
+    public Mono<ResponseEntity<Object>> update(long userId, ItemDto itemDto, long itemId) {
+        return patch("/" + itemId, userId, itemDto)
+                .doOnTerminate(() -> {
+                    cache.evict(ResponseCache.ITEMS, String.valueOf(itemId));
+                    cache.evictAll(ResponseCache.REQUESTS);
+                });
     }
 
-    public ResponseEntity<Object> findByItemId(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> findByItemId(long userId, long itemId) {
+        return cache.get(ResponseCache.ITEMS, String.valueOf(itemId), String.valueOf(userId),
+                () -> get("/" + itemId, userId));
     }
 
-    public ResponseEntity<Object> findByUserId(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> findByUserId(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -51,7 +72,34 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchText(String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> findByUserId(long userId, String after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+
+        return get("?after={after}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findComments(long itemId, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+
+        return get("/" + itemId + "/comments?from={from}&size={size}", parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findComments(long itemId, String after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+
+        return get("/" + itemId + "/comments?after={after}&size={size}", parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> searchText(String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -60,4 +108,16 @@ public class ItemClient extends BaseClient {
 
         return get("/search?text={text}&from={from}&size={size}", parameters);
     }
+
+    public Mono<ResponseEntity<Object>> findAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to))
+            throw new BadRequestException("Начало периода должно быть раньше его завершения");
+
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+
+        return get("/" + itemId + "/availability?from={from}&to={to}", parameters);
+    }
 }
@@ -2,17 +2,23 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @Validated
@@ -24,51 +30,89 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(value = "X-Sharer-User-Id") long userId,
-                                         @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(value = "X-Sharer-User-Id") long userId,
+                                               @Valid @RequestBody ItemDto itemDto) {
         log.info("Вещь с id {} создана пользователем {}", itemDto, userId);
         return itemClient.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader(value = "X-Sharer-User-Id") long userId,
+                                                  @RequestBody @NotEmpty @Size(max = 1000)
+                                                  List<@Valid ItemDto> items) {
+        log.info("Пакетное создание {} вещей пользователем {}", items.size(), userId);
+        return itemClient.createAll(userId, items);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                @Valid @RequestBody CommentDto commentDto,
-                                                @PathVariable @Positive long itemId) {
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @Valid @RequestBody CommentDto commentDto,
+                                                      @PathVariable @Positive long itemId) {
         log.info("Создан комментарий с id {}, пользователь {}, id вещи {}", commentDto, userId, itemId);
         return itemClient.createComment(userId, commentDto, itemId);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @RequestBody ItemDto itemDto,
-                                         @PathVariable @Positive long itemId) {
+    public Mono<ResponseEntity<Object>> update(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @RequestBody ItemDto itemDto,
+                                               @PathVariable @Positive long itemId) {
         log.info("Обновление вещи с id {}, пользователь {}", itemId, userId);
         return itemClient.update(userId, itemDto, itemId);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> findByItemId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                               @PathVariable @Positive long itemId) {
+    public Mono<ResponseEntity<Object>> findByItemId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                     @PathVariable @Positive long itemId) {
         log.info("Поиск вещи с id {}, пользователь {}", itemId, userId);
         return itemClient.findByItemId(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                               @RequestParam(value = "from", required = false, defaultValue = "0")
-                                               @PositiveOrZero int from,
-                                               @RequestParam(value = "size", required = false, defaultValue = "10")
-                                               @Min(1) int size) {
-        log.info("Поиск всех вещей у пользователя {}, from {}, size {}", userId, from, size);
+    public Mono<ResponseEntity<Object>> findByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                     @RequestParam(value = "from", required = false, defaultValue = "0")
+                                                     @PositiveOrZero int from,
+                                                     @RequestParam(value = "size", required = false,
+                                                             defaultValue = "10")
+                                                     @Min(1) int size,
+                                                     @RequestParam(value = "after", required = false) String after) {
+        log.info("Поиск всех вещей у пользователя {}, from {}, size {}, after {}", userId, from, size, after);
+        if (after != null)
+            return itemClient.findByUserId(userId, after, size);
         return itemClient.findByUserId(userId, from, size);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public Mono<ResponseEntity<Object>> findComments(@PathVariable @Positive long itemId,
+                                                     @RequestParam(value = "from", required = false, defaultValue = "0")
+                                                     @PositiveOrZero int from,
+                                                     @RequestParam(value = "size", required = false,
+                                                             defaultValue = "10")
+                                                     @Min(1) int size,
+                                                     @RequestParam(value = "after", required = false) String after) {
+        log.info("Поиск отзывов о вещи {}, from {}, size {}, after {}", itemId, from, size, after);
+        if (after != null)
+            return itemClient.findComments(itemId, after, size);
+        return itemClient.findComments(itemId, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> findAvailability(@PathVariable @Positive long itemId,
+                                                         @RequestParam(value = "from")
+                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                         LocalDateTime from,
+                                                         @RequestParam(value = "to")
+                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                         LocalDateTime to) {
+        log.info("Поиск свободных периодов вещи {} с {} по {}", itemId, from, to);
+        return itemClient.findAvailability(itemId, from, to);
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<Object> searchText(@RequestParam(value = "text") String text,
-                                             @RequestParam(value = "from", required = false, defaultValue = "0")
-                                             @PositiveOrZero int from,
-                                             @RequestParam(value = "size", required = false, defaultValue = "10")
-                                             @Min(1) int size) {
+    public Mono<ResponseEntity<Object>> searchText(@RequestParam(value = "text") String text,
+                                                   @RequestParam(value = "from", required = false, defaultValue = "0")
+                                                   @PositiveOrZero int from,
+                                                   @RequestParam(value = "size", required = false, defaultValue = "10")
+                                                   @Min(1) int size) {
         log.info("Поиск вещи по запросу = {}, from {}, size {}",
                 text, from, size);
         return itemClient.searchText(text, from, size);
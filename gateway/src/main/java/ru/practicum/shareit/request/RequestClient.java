@@ -1,13 +1,12 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.ResponseCache;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import java.util.Map;
@@ -16,28 +15,28 @@ import java.util.Map;
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
+    private final ResponseCache cache;
+
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public RequestClient(ServerClientFactory factory, ResponseCache cache) {
+        super(factory.create(API_PREFIX));
+        this.cache = cache;
     }
 
-    public ResponseEntity<Object> create(long userId, RequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, RequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> findByRequestId(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> findByRequestId(long userId, long requestId) {
+        return cache.get(ResponseCache.REQUESTS, String.valueOf(requestId), String.valueOf(userId),
+                () -> get("/" + requestId, userId));
     }
 
-    public ResponseEntity<Object> findAllByUserId(long userId) {
+    public Mono<ResponseEntity<Object>> findAllByUserId(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAll(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> findAll(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -45,4 +44,13 @@ public class RequestClient extends BaseClient {
 
         return get("/all?from={from}&size={size}", userId, parameters);
     }
+
+    public Mono<ResponseEntity<Object>> findAll(long userId, String after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+
+        return get("/all?after={after}&size={size}", userId, parameters);
+    }
 }
@@ -1,45 +1,63 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.ResponseCache;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
+    private static final String ALL_USERS = "";
+
+    private final ResponseCache cache;
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public UserClient(ServerClientFactory factory, ResponseCache cache) {
+        super(factory.create(API_PREFIX));
+        this.cache = cache;
+    }
+
+    public Mono<ResponseEntity<Object>> create(UserDto userDto) {
+        return post("", userDto)
+                .doOnTerminate(() -> cache.evict(ResponseCache.USERS, ALL_USERS));
     }
 
-    public ResponseEntity<Object> create(UserDto userDto) {
-        return post("", userDto);
+    public Mono<ResponseEntity<Object>> createAll(List<UserDto> users) {
+        return post("/batch", users)
+                .doOnTerminate(() -> cache.evict(ResponseCache.USERS, ALL_USERS));
     }
 
-    public ResponseEntity<Object> update(long userId, UserDto userDto) {
-        return patch("/" + userId, userDto);
+    public Mono<ResponseEntity<Object>> update(long userId, UserDto userDto) {
+        return patch("/" + userId, userDto)
+                .doOnTerminate(() -> {
+                    cache.evict(ResponseCache.USERS, String.valueOf(userId));
+                    cache.evict(ResponseCache.USERS, ALL_USERS);
+                    cache.evictAll(ResponseCache.ITEMS);
+                });
     }
 
-    public ResponseEntity<Object> findById(long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<Object>> findById(long userId) {
+        return cache.get(ResponseCache.USERS, String.valueOf(userId), "", () -> get("/" + userId));
     }
 
-    public ResponseEntity<Object> findAll() {
-        return get("");
+    public Mono<ResponseEntity<Object>> findAll() {
+        return cache.get(ResponseCache.USERS, ALL_USERS, "", () -> get(""));
     }
 
-    public ResponseEntity<Object> deleteById(long userId) {
-        return delete("/" + userId);
+    public Mono<ResponseEntity<Object>> deleteById(long userId) {
+        return delete("/" + userId)
+                .doOnTerminate(() -> {
+                    cache.evict(ResponseCache.USERS, String.valueOf(userId));
+                    cache.evict(ResponseCache.USERS, ALL_USERS);
+                    cache.evictAll(ResponseCache.ITEMS);
+                    cache.evictAll(ResponseCache.REQUESTS);
+                });
     }
 }
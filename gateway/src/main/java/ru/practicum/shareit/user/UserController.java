@@ -6,10 +6,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Slf4j
 @Validated
@@ -21,31 +25,38 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
         log.info("Пользователь с id {} создан", userDto);
         return userClient.create(userDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestBody @NotEmpty @Size(max = 1000)
+                                                  List<@Valid UserDto> users) {
+        log.info("Пакетное создание {} пользователей", users.size());
+        return userClient.createAll(users);
+    }
+
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@PathVariable @Positive long userId, @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable @Positive long userId, @RequestBody UserDto userDto) {
         log.info("Обновление пользователя с id {}", userId);
         return userClient.update(userId, userDto);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> findById(@PathVariable @Positive long userId) {
+    public Mono<ResponseEntity<Object>> findById(@PathVariable @Positive long userId) {
         log.info("Поиск пользователя с id {}", userId);
         return userClient.findById(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll() {
+    public Mono<ResponseEntity<Object>> findAll() {
         log.info("Получение списка всех пользователей");
         return userClient.findAll();
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteById(@PathVariable @Positive long userId) {
+    public Mono<ResponseEntity<Object>> deleteById(@PathVariable @Positive long userId) {
         log.info("Удаление пользователя с id {}", userId);
         return userClient.deleteById(userId);
     }
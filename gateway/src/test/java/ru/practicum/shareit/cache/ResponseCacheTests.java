@@ -0,0 +1,199 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.client.ReadPrimary;
+import ru.practicum.shareit.client.ServerClient;
+import ru.practicum.shareit.client.ServerClientFactory;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ResponseCacheTests {
+    private MeterRegistry meterRegistry;
+    private ResponseCache cache;
+    private AtomicInteger serverCalls;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ResponseCache(meterRegistry, 100, Duration.ofMinutes(1),
+                Map.of(ResponseCache.ITEMS, true, ResponseCache.USERS, false), Clock.systemUTC());
+        serverCalls = new AtomicInteger();
+    }
+
+    @Test
+    void ifSameRequestRepeatedThenServerCalledOnce() {
+        cache.get(ResponseCache.ITEMS, "1", "1", server(HttpStatus.OK)).block();
+        ResponseEntity<Object> response = cache.get(ResponseCache.ITEMS, "1", "1", server(HttpStatus.OK)).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(serverCalls.get(), equalTo(1));
+        assertThat(gets("hit"), equalTo(1.0));
+        assertThat(gets("miss"), equalTo(1.0));
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "gateway.items").gauge().value(),
+                equalTo(0.5));
+    }
+
+    @Test
+    void ifAnotherUserRequestsSameItemThenServerCalledAgain() {
+        cache.get(ResponseCache.ITEMS, "1", "1", server(HttpStatus.OK)).block();
+        cache.get(ResponseCache.ITEMS, "1", "2", server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls.get(), equalTo(2));
+    }
+
+    @Test
+    void ifResponseIsErrorThenNotCached() {
+        cache.get(ResponseCache.ITEMS, "1", "1", server(HttpStatus.NOT_FOUND)).block();
+        cache.get(ResponseCache.ITEMS, "1", "1", server(HttpStatus.NOT_FOUND)).block();
+
+        assertThat(serverCalls.get(), equalTo(2));
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    void ifRegionDisabledThenServerCalledEveryTime() {
+        cache.get(ResponseCache.USERS, "1", "", server(HttpStatus.OK)).block();
+        cache.get(ResponseCache.USERS, "1", "", server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls.get(), equalTo(2));
+    }
+
+    @Test
+    void ifResourceEvictedThenOnlyItsEntriesRemoved() {
+        cache.get(ResponseCache.ITEMS, "1", "1", server(HttpStatus.OK)).block();
+        cache.get(ResponseCache.ITEMS, "1", "2", server(HttpStatus.OK)).block();
+        cache.get(ResponseCache.ITEMS, "2", "1", server(HttpStatus.OK)).block();
+
+        cache.evict(ResponseCache.ITEMS, "1");
+
+        assertThat(cache.size(), equalTo(1));
+    }
+
+    @Test
+    void ifEntryExpiredThenServerCalledAgain() {
+        Clock clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.millis())
+                .thenReturn(0L, 2_000L, 2_000L);
+        cache = new ResponseCache(meterRegistry, 100, Duration.ofSeconds(1), Map.of(ResponseCache.ITEMS, true),
+                clock);
+
+        cache.get(ResponseCache.ITEMS, "1", "1", server(HttpStatus.OK)).block();
+        cache.get(ResponseCache.ITEMS, "1", "1", server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls.get(), equalTo(2));
+    }
+
+    @Test
+    void ifResourceEvictedDuringLoadThenLoadedResponseNotCached() {
+        Sinks.One<ResponseEntity<Object>> response = Sinks.one();
+        cache.get(ResponseCache.ITEMS, "1", "1", response::asMono).subscribe();
+        cache.evict(ResponseCache.ITEMS, "1");
+        response.tryEmitValue(ResponseEntity.ok().build());
+
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    void ifOtherResourceEvictedDuringLoadThenLoadedResponseCached() {
+        Sinks.One<ResponseEntity<Object>> response = Sinks.one();
+        cache.get(ResponseCache.ITEMS, "1", "1", response::asMono).subscribe();
+        cache.evict(ResponseCache.ITEMS, "2");
+        response.tryEmitValue(ResponseEntity.ok().build());
+
+        cache.get(ResponseCache.ITEMS, "1", "1", server(HttpStatus.OK)).block();
+        assertThat(serverCalls.get(), equalTo(0));
+        assertThat(cache.size(), equalTo(1));
+    }
+
+    @Test
+    void ifItemUpdatedThroughGatewayThenItsCachedViewsEvicted() {
+        ServerClient server = Mockito.mock(ServerClient.class);
+        ServerClientFactory factory = Mockito.mock(ServerClientFactory.class);
+        Mockito.when(factory.create("/items"))
+                .thenReturn(server);
+        Mockito.when(server.exchange(Mockito.any(HttpMethod.class), Mockito.anyString(), Mockito.any(),
+                        ArgumentMatchers.<Map<String, Object>>any(), Mockito.any()))
+                .thenAnswer(invocation -> server(HttpStatus.OK).get());
+        ItemClient itemClient = new ItemClient(factory, cache);
+
+        itemClient.findByItemId(1L, 1L).block();
+        itemClient.findByItemId(1L, 1L).block();
+        itemClient.update(1L, ItemDto.builder().name("Дрель").build(), 1L).block();
+        itemClient.findByItemId(1L, 1L).block();
+
+        Mockito.verify(server, Mockito.times(2))
+                .exchange(HttpMethod.GET, "/1", 1L, null, null);
+    }
+
+    @Test
+    void ifUserUpdatedThroughGatewayThenCachedItemsEvicted() {
+        ServerClient server = Mockito.mock(ServerClient.class);
+        ServerClientFactory factory = Mockito.mock(ServerClientFactory.class);
+        Mockito.when(factory.create(Mockito.anyString()))
+                .thenReturn(server);
+        Mockito.when(server.exchange(Mockito.any(HttpMethod.class), Mockito.anyString(), Mockito.any(),
+                        ArgumentMatchers.<Map<String, Object>>any(), Mockito.any()))
+                .thenAnswer(invocation -> server(HttpStatus.OK).get());
+        ItemClient itemClient = new ItemClient(factory, cache);
+        UserClient userClient = new UserClient(factory, cache);
+
+        itemClient.findByItemId(1L, 1L).block();
+        userClient.update(2L, UserDto.builder().name("Павел").build()).block();
+        itemClient.findByItemId(1L, 1L).block();
+
+        Mockito.verify(server, Mockito.times(2))
+                .exchange(HttpMethod.GET, "/1", 1L, null, null);
+    }
+
+    @Test
+    void ifReadPrimaryRequestedThenCacheBypassed() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ReadPrimary.HEADER, "true");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            cache.get(ResponseCache.ITEMS, "1", "1", server(HttpStatus.OK)).block();
+            cache.get(ResponseCache.ITEMS, "1", "1", server(HttpStatus.OK)).block();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertThat(serverCalls.get(), equalTo(2));
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    private Supplier<Mono<ResponseEntity<Object>>> server(HttpStatus status) {
+        return () -> Mono.fromCallable(() -> {
+            serverCalls.incrementAndGet();
+            return ResponseEntity.status(status).build();
+        });
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "gateway.items").tag("result", result)
+                .functionCounter().count();
+    }
+}
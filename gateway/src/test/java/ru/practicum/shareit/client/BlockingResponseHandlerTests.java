@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.errors.BadRequestException;
+import ru.practicum.shareit.errors.ErrorHandler;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ContextConfiguration(classes = {UserController.class, ErrorHandler.class, BlockingResponseHandler.class})
+@WebMvcTest(UserController.class)
+class BlockingResponseHandlerTests {
+    private static final String USER = "{\"id\":1,\"name\":\"Серафим\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private UserClient userClient;
+
+    @Test
+    void ifBlockingModeThenResponseWrittenWithoutAsyncDispatch() throws Exception {
+        Mockito
+                .when(userClient.findById(1L))
+                .thenReturn(Mono.just(ServerClient.passThrough(HttpStatus.NOT_FOUND,
+                        jsonHeaders(), USER.getBytes(StandardCharsets.UTF_8))));
+
+        mockMvc.perform(get("/users/1"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(USER));
+    }
+
+    @Test
+    void ifClientFailsThenErrorHandlerResponds() throws Exception {
+        Mockito
+                .when(userClient.findById(1L))
+                .thenReturn(Mono.error(new BadRequestException("Некорректный запрос")));
+
+        mockMvc.perform(get("/users/1"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+}
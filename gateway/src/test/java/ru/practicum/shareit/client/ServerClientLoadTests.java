@@ -0,0 +1,175 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.cache.ResponseCache;
+import ru.practicum.shareit.errors.ErrorHandler;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+@Slf4j
+@Tag("load")
+class ServerClientLoadTests {
+    private static final int SERVER_DELAY_MILLIS = 200;
+    private static final int CONCURRENT_REQUESTS = 64;
+    private static final int GATEWAY_THREADS = 8;
+    private static HttpServer server;
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/users", exchange -> {
+            try {
+                Thread.sleep(SERVER_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        server.stop(0);
+    }
+
+    @Test
+    void ifReactiveClientThenTailLatencyLowerThanBlocking() throws Exception {
+        LoadResult blocking = run(ServerClientMode.BLOCKING);
+        LoadResult reactive = run(ServerClientMode.REACTIVE);
+
+        log.info("Режим {}: p50 = {} мс, p99 = {} мс, пик потоков = {}", ServerClientMode.BLOCKING,
+                blocking.p50, blocking.p99, blocking.peakThreads);
+        log.info("Режим {}: p50 = {} мс, p99 = {} мс, пик потоков = {}", ServerClientMode.REACTIVE,
+                reactive.p50, reactive.p99, reactive.peakThreads);
+        assertThat(reactive.p99, lessThan(blocking.p99));
+    }
+
+    private LoadResult run(ServerClientMode mode) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GatewayConfig.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + GATEWAY_THREADS,
+                        "--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                        "--shareit-server.client=" + mode,
+                        "--shareit.response-cache.users.enabled=false")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newFixedThreadPool(CONCURRENT_REQUESTS))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users"))
+                    .GET()
+                    .build();
+
+            sendConcurrently(client, request);
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            List<Long> latencies = sendConcurrently(client, request);
+            int peakThreads = threads.getPeakThreadCount();
+
+            latencies.sort(Long::compare);
+            return new LoadResult(percentile(latencies, 50), percentile(latencies, 99), peakThreads);
+        }
+    }
+
+    private List<Long> sendConcurrently(HttpClient client, HttpRequest request) {
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            long start = System.nanoTime();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        synchronized (statuses) {
+                            statuses.add(response.statusCode());
+                        }
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }));
+        }
+        List<Long> latencies = new ArrayList<>();
+        futures.forEach(future -> latencies.add(future.join()));
+        assertThat(statuses, everyItem(equalTo(200)));
+        return latencies;
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0));
+    }
+
+    private static class LoadResult {
+        private final long p50;
+        private final long p99;
+        private final int peakThreads;
+
+        LoadResult(long p50, long p99, int peakThreads) {
+            this.p50 = p50;
+            this.p99 = p99;
+            this.peakThreads = peakThreads;
+        }
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({PropertyPlaceholderAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class, ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class, WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class, ValidationAutoConfiguration.class, CodecsAutoConfiguration.class,
+            RestTemplateAutoConfiguration.class, WebClientAutoConfiguration.class})
+    @Import({ServerConnectionPool.class, ServerClientFactory.class, ResponseCache.class, UserClient.class,
+            UserController.class, ErrorHandler.class})
+    static class GatewayConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ServerClientTests {
+    private static final String ITEMS = "[{\"id\":1,\"name\":\"Дрель\"}]";
+    private static final String ERROR = "{\"error\":\"Вещь не найдена\"}";
+
+    @Test
+    void ifBlockingClientGetsSuccessThenBodyPassedThroughAsBytes() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo("http://localhost:9090/items?from=0"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(ITEMS, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = new RestTemplateServerClient(rest)
+                .exchange(HttpMethod.GET, "?from={from}", 1L, Map.of("from", 0), null)
+                .block();
+
+        assertPassedThrough(response, HttpStatus.OK, ITEMS);
+        server.verify();
+    }
+
+    @Test
+    void ifBlockingClientGetsErrorThenBodyPassedThroughAsBytes() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo("http://localhost:9090/items/99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ERROR));
+
+        ResponseEntity<Object> response = new RestTemplateServerClient(rest)
+                .exchange(HttpMethod.GET, "/99", 1L, null, null)
+                .block();
+
+        assertPassedThrough(response, HttpStatus.NOT_FOUND, ERROR);
+    }
+
+    @Test
+    void ifReactiveClientGetsResponseThenBodyPassedThroughAsBytes() {
+        WebClient web = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(ERROR)
+                        .build()))
+                .build();
+
+        ResponseEntity<Object> response = new WebClientServerClient(web)
+                .exchange(HttpMethod.GET, "/99", 1L, null, null)
+                .block();
+
+        assertPassedThrough(response, HttpStatus.NOT_FOUND, ERROR);
+    }
+
+    @Test
+    void ifBlockingClientGetsNextCursorThenHeaderPassedThrough() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "MTA");
+        headers.set(HttpHeaders.CONNECTION, "close");
+        server.expect(requestTo("http://localhost:9090/items?size=1"))
+                .andRespond(withSuccess(ITEMS, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = new RestTemplateServerClient(rest)
+                .exchange(HttpMethod.GET, "?size={size}", 1L, Map.of("size", 1), null)
+                .block();
+
+        assertPassedThrough(response, HttpStatus.OK, ITEMS);
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor"), equalTo("MTA"));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONNECTION), equalTo(false));
+    }
+
+    @Test
+    void ifReactiveClientGetsNextCursorThenHeaderPassedThrough() {
+        WebClient web = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .header("X-Next-Cursor", "MTA")
+                        .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                        .body(ITEMS)
+                        .build()))
+                .build();
+
+        ResponseEntity<Object> response = new WebClientServerClient(web)
+                .exchange(HttpMethod.GET, "?size=1", 1L, null, null)
+                .block();
+
+        assertPassedThrough(response, HttpStatus.OK, ITEMS);
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor"), equalTo("MTA"));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING), equalTo(false));
+    }
+
+    @Test
+    void ifBlockingClientReadsPrimaryThenHeaderForwarded() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(header(ReadPrimary.HEADER, "true"))
+                .andRespond(withSuccess(ITEMS, MediaType.APPLICATION_JSON));
+
+        new RestTemplateServerClient(rest)
+                .exchange(HttpMethod.GET, "/1", 1L, null, null)
+                .contextWrite(ReadPrimary.requested())
+                .block();
+
+        server.verify();
+    }
+
+    @Test
+    void ifReactiveClientReadsPrimaryThenHeaderForwarded() {
+        List<String> forwarded = new ArrayList<>();
+        WebClient web = WebClient.builder()
+                .exchangeFunction(request -> {
+                    forwarded.addAll(request.headers().getOrEmpty(ReadPrimary.HEADER));
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .build();
+        WebClientServerClient client = new WebClientServerClient(web);
+
+        client.exchange(HttpMethod.GET, "/1", 1L, null, null).block();
+        client.exchange(HttpMethod.GET, "/1", 1L, null, null)
+                .contextWrite(ReadPrimary.requested())
+                .block();
+
+        assertThat(forwarded, equalTo(List.of("true")));
+    }
+
+    @Test
+    void ifResponseHasNoBodyThenNoBodyPassedThrough() {
+        WebClient web = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK).build()))
+                .build();
+
+        ResponseEntity<Object> response = new WebClientServerClient(web)
+                .exchange(HttpMethod.DELETE, "/1", 1L, null, null)
+                .block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getBody(), nullValue());
+    }
+
+    private static RestTemplate restTemplate() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        return rest;
+    }
+
+    private static void assertPassedThrough(ResponseEntity<Object> response, HttpStatus status, String body) {
+        assertThat(response.getStatusCode(), equalTo(status));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo(body));
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServerConnectionPoolTests {
+    private MeterRegistry meterRegistry;
+    private ServerConnectionPool connectionPool;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        connectionPool = new ServerConnectionPool(50, 20, Duration.ofSeconds(30), Duration.ofSeconds(30),
+                null, Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofSeconds(5), 100, meterRegistry);
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        connectionPool.destroy();
+    }
+
+    @Test
+    void ifRequestFactoryRequestedTwiceThenPoolIsShared() {
+        assertThat(connectionPool.requestFactory(), sameInstance(connectionPool.requestFactory()));
+        assertThat(connectionPool.reactorClient(), sameInstance(connectionPool.reactorClient()));
+    }
+
+    @Test
+    void ifRequestFactoryCreatedThenPoolMetricsExported() {
+        connectionPool.requestFactory();
+
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value(), equalTo(50.0));
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max.default").gauge().value(),
+                equalTo(20.0));
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge().value(), equalTo(0.0));
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.pending").gauge().value(),
+                equalTo(0.0));
+    }
+
+    @Test
+    void ifReactorClientCreatedThenConnectionsLimitedPerRoute() {
+        connectionPool.reactorClient();
+
+        assertThat(connectionPool.connectionProvider().maxConnections(), equalTo(20));
+    }
+
+    @Test
+    void ifValidateAfterInactivitySetThenReactorClientRejected() throws IOException {
+        ServerConnectionPool validatingPool = new ServerConnectionPool(50, 20, Duration.ofSeconds(30),
+                Duration.ofSeconds(30), Duration.ofSeconds(2), Duration.ofSeconds(2), Duration.ofSeconds(30),
+                Duration.ofSeconds(5), 100, meterRegistry);
+
+        assertThrows(IllegalStateException.class, validatingPool::reactorClient);
+        validatingPool.destroy();
+    }
+}
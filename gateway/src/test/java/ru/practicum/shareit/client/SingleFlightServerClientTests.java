@@ -0,0 +1,123 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+
+class SingleFlightServerClientTests {
+    private static final Map<String, Object> SEARCH = Map.of("text", "дрель", "from", 0, "size", 10);
+
+    @Test
+    void ifIdenticalGetsAreConcurrentThenServerCalledOnce() {
+        SlowServer server = new SlowServer(Duration.ofMillis(100));
+        SingleFlightServerClient client = new SingleFlightServerClient(server, Duration.ofSeconds(5));
+
+        List<ResponseEntity<Object>> responses = Flux.range(0, 20)
+                .flatMap(i -> client.exchange(HttpMethod.GET, "/search", null, SEARCH, null))
+                .collectList()
+                .block();
+
+        assertThat(server.calls.get(), equalTo(1));
+        assertThat(responses, hasSize(20));
+        assertThat(responses, everyItem(sameInstance(responses.get(0))));
+        assertThat(client.inFlight(), equalTo(0));
+    }
+
+    @Test
+    void ifUsersDifferThenServerCalledForEachUser() {
+        SlowServer server = new SlowServer(Duration.ofMillis(100));
+        SingleFlightServerClient client = new SingleFlightServerClient(server, Duration.ofSeconds(5));
+
+        Flux.merge(client.exchange(HttpMethod.GET, "/1", 1L, null, null),
+                        client.exchange(HttpMethod.GET, "/1", 2L, null, null),
+                        client.exchange(HttpMethod.GET, "/1", 1L, null, null))
+                .blockLast();
+
+        assertThat(server.calls.get(), equalTo(2));
+    }
+
+    @Test
+    void ifRequestIsNotGetThenNotCoalesced() {
+        SlowServer server = new SlowServer(Duration.ofMillis(100));
+        SingleFlightServerClient client = new SingleFlightServerClient(server, Duration.ofSeconds(5));
+
+        Flux.merge(client.exchange(HttpMethod.PATCH, "/1", 1L, null, Map.of("name", "Дрель")),
+                        client.exchange(HttpMethod.PATCH, "/1", 1L, null, Map.of("name", "Дрель")))
+                .blockLast();
+
+        assertThat(server.calls.get(), equalTo(2));
+    }
+
+    @Test
+    void ifReadPrimaryRequestedThenNotJoinedToSharedRequest() {
+        SlowServer server = new SlowServer(Duration.ofMillis(100));
+        SingleFlightServerClient client = new SingleFlightServerClient(server, Duration.ofSeconds(5));
+
+        Flux.merge(client.exchange(HttpMethod.GET, "/1", 1L, null, null),
+                        client.exchange(HttpMethod.GET, "/1", 1L, null, null)
+                                .contextWrite(ReadPrimary.requested()))
+                .blockLast();
+
+        assertThat(server.calls.get(), equalTo(2));
+    }
+
+    @Test
+    void ifSharedRequestTooSlowThenWaiterCallsServerItself() {
+        SlowServer server = new SlowServer(Duration.ofSeconds(10));
+        SingleFlightServerClient client = new SingleFlightServerClient(server, Duration.ofMillis(50));
+        client.exchange(HttpMethod.GET, "/1", 1L, null, null).subscribe();
+        server.delay = Duration.ZERO;
+
+        ResponseEntity<Object> response = client.exchange(HttpMethod.GET, "/1", 1L, null, null)
+                .block(Duration.ofSeconds(1));
+
+        assertThat(response.getStatusCodeValue(), equalTo(200));
+        assertThat(server.calls.get(), equalTo(2));
+    }
+
+    @Test
+    void ifPreviousRequestCompletedThenServerCalledAgain() {
+        SlowServer server = new SlowServer(Duration.ZERO);
+        SingleFlightServerClient client = new SingleFlightServerClient(server, Duration.ofSeconds(5));
+
+        client.exchange(HttpMethod.GET, "/1", 1L, null, null).block();
+        client.exchange(HttpMethod.GET, "/1", 1L, null, null).block();
+
+        assertThat(server.calls.get(), equalTo(2));
+    }
+
+    private static class SlowServer implements ServerClient {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile Duration delay;
+
+        private SlowServer(Duration delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                         @Nullable Map<String, Object> parameters,
+                                                         @Nullable T body) {
+            Duration responseDelay = delay;
+            return Mono.defer(() -> {
+                calls.incrementAndGet();
+                return Mono.delay(responseDelay)
+                        .map(tick -> ResponseEntity.ok().build());
+            });
+        }
+    }
+}
@@ -15,22 +15,27 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.BookingClient;
 import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.errors.BadRequestException;
 import ru.practicum.shareit.errors.ErrorHandler;
 
 import javax.validation.ConstraintViolationException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ContextConfiguration(classes = BookingController.class)
@@ -69,17 +74,52 @@ class BookingControllerTests {
         mapper.registerModule(new JavaTimeModule());
     }
 
+    @Test
+    void ifApprovingBookingsBatchThenStatusIsOk() throws Exception {
+        Mockito
+                .when(bookingClient.updateAll(1L, List.of(1L, 2L), true))
+                .thenReturn(Mono.just(responseIsOk));
+
+        MvcResult result = mockMvc.perform(patch("/bookings/batch?approved=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content("[1, 2]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingClient, Mockito.times(1))
+                .updateAll(1L, List.of(1L, 2L), true);
+    }
+
+    @Test
+    void ifBookingsBatchHasNegativeIdThenStatusIsBadRequest() throws Exception {
+        mockMvc.perform(patch("/bookings/batch?approved=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content("[1, -2]"))
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(bookingClient, Mockito.never())
+                .updateAll(Mockito.anyLong(), Mockito.anyList(), Mockito.anyBoolean());
+    }
+
     @Test
     void ifCreatingCorrectBookingThenStatusIsOk() throws Exception {
         Mockito
                 .when(bookingClient.create(2L, bookingDto))
-                .thenReturn(responseIsOk);
-        mockMvc.perform(post("/bookings")
+                .thenReturn(Mono.just(responseIsOk));
+        MvcResult result = mockMvc.perform(post("/bookings")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .header("X-Sharer-User-Id", 2L)
                         .content(mapper.writeValueAsString(bookingDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(bookingClient, Mockito.times(1))
@@ -154,10 +194,13 @@ class BookingControllerTests {
     void ifUpdatingCorrectStatusThenStatusIsOk() throws Exception {
         Mockito
                 .when(bookingClient.update(1L, 1L, true))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(patch("/bookings/1?approved=true")
+        MvcResult result = mockMvc.perform(patch("/bookings/1?approved=true")
                         .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(bookingClient, Mockito.times(1))
@@ -168,10 +211,13 @@ class BookingControllerTests {
     void ifGettingCorrectByIdThenStatusIsOk() throws Exception {
         Mockito
                 .when(bookingClient.findById(1L, 1L))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(get("/bookings/1")
+        MvcResult result = mockMvc.perform(get("/bookings/1")
                         .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(bookingClient, Mockito.times(1))
@@ -258,4 +304,24 @@ class BookingControllerTests {
                         Objects.requireNonNull(result.getResolvedException()).getMessage()))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void ifGettingUserBookingsWithCursorThenClientCalledWithCursor() throws Exception {
+        Mockito
+                .when(bookingClient.getUserBookings(2L, BookingState.ALL, "MjAyMy0wMS0xMFQxMjowMHw1", 10))
+                .thenReturn(Mono.just(responseIsOk));
+
+        MvcResult result = mockMvc.perform(get("/bookings?state=ALL&after=MjAyMy0wMS0xMFQxMjowMHw1")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingClient, Mockito.times(1))
+                .getUserBookings(2L, BookingState.ALL, "MjAyMy0wMS0xMFQxMjowMHw1", 10);
+        Mockito.verify(bookingClient, Mockito.never())
+                .getUserBookings(Mockito.anyLong(), Mockito.any(BookingState.class), Mockito.anyInt(),
+                        Mockito.anyInt());
+    }
 }
@@ -15,8 +15,10 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.errors.ErrorHandler;
 import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.item.ItemController;
@@ -25,9 +27,12 @@ import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.ConstraintViolationException;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ContextConfiguration(classes = ItemController.class)
@@ -75,20 +80,73 @@ class ItemControllerTests {
     void ifCreatingCorrectItemThenStatusIsOk() throws Exception {
         Mockito
                 .when(itemClient.create(2L, itemDto))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(post("/items")
+        MvcResult result = mockMvc.perform(post("/items")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .header("X-Sharer-User-Id", 2L)
                         .content(mapper.writeValueAsString(itemDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(itemClient, Mockito.times(1))
                 .create(2L, itemDto);
     }
 
+    @Test
+    void ifCreatingCorrectItemsBatchThenStatusIsOk() throws Exception {
+        Mockito
+                .when(itemClient.createAll(2L, List.of(itemDto, itemDto)))
+                .thenReturn(Mono.just(responseIsOk));
+
+        MvcResult result = mockMvc.perform(post("/items/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2L)
+                        .content(mapper.writeValueAsString(List.of(itemDto, itemDto))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemClient, Mockito.times(1))
+                .createAll(2L, List.of(itemDto, itemDto));
+    }
+
+    @Test
+    void ifItemsBatchHasInvalidItemThenStatusIsBadRequest() throws Exception {
+        ItemDto withoutName = ItemDto.builder()
+                .available(true)
+                .description("для эмоциональных поездок")
+                .build();
+
+        mockMvc.perform(post("/items/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2L)
+                        .content(mapper.writeValueAsString(List.of(itemDto, withoutName))))
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(itemClient, Mockito.never())
+                .createAll(Mockito.anyLong(), Mockito.anyList());
+    }
+
+    @Test
+    void ifItemsBatchIsEmptyThenStatusIsBadRequest() throws Exception {
+        mockMvc.perform(post("/items/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2L)
+                        .content("[]"))
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void ifCreatingItemWithNameIsNullThenStatusIsBadRequest() throws Exception {
         ItemDto withoutName = ItemDto.builder()
@@ -214,14 +272,17 @@ class ItemControllerTests {
     void ifPostingCorrectCommentThenStatusIsOk() throws Exception {
         Mockito
                 .when(itemClient.createComment(1L, commentDto, 3L))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(post("/items/3/comment")
+        MvcResult result = mockMvc.perform(post("/items/3/comment")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .header("X-Sharer-User-Id", 1L)
                         .content(mapper.writeValueAsString(commentDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(itemClient, Mockito.times(1))
@@ -232,15 +293,18 @@ class ItemControllerTests {
     void ifUpdatingCorrectItemThenStatusIsOk() throws Exception {
         Mockito
                 .when(itemClient.update(1L, itemDto, 2L))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(patch("/items/2")
+        MvcResult result = mockMvc.perform(patch("/items/2")
                         .header("X-Sharer-User-Id", 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .header("X-Sharer-User-Id", 1L)
                         .content(mapper.writeValueAsString(itemDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(itemClient, Mockito.times(1))
@@ -313,10 +377,13 @@ class ItemControllerTests {
     void ifGettingCorrectItemByIdThenStatusIsOk() throws Exception {
         Mockito
                 .when(itemClient.findByItemId(1L, 2L))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(get("/items/2")
+        MvcResult result = mockMvc.perform(get("/items/2")
                         .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(itemClient, Mockito.times(1))
@@ -338,10 +405,13 @@ class ItemControllerTests {
     void ifGettingCorrectItemByUserIdThenStatusIsOk() throws Exception {
         Mockito
                 .when(itemClient.findByUserId(5L, 3, 2))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(get("/items?from=3&size=2")
+        MvcResult result = mockMvc.perform(get("/items?from=3&size=2")
                         .header("X-Sharer-User-Id", 5L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(itemClient, Mockito.times(1))
@@ -373,9 +443,12 @@ class ItemControllerTests {
     void ifSearchingThenStatusIsOk() throws Exception {
         Mockito
                 .when(itemClient.searchText("bike", 0, 10))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(get("/items/search?text=bike"))
+        MvcResult result = mockMvc.perform(get("/items/search?text=bike"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(itemClient, Mockito.times(1))
@@ -391,4 +464,59 @@ class ItemControllerTests {
         Mockito.verify(itemClient, Mockito.never())
                 .searchText("bike", -3, 3);
     }
+
+    @Test
+    void ifGettingAvailabilityThenClientCalledWithPeriod() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(7);
+        Mockito
+                .when(itemClient.findAvailability(1L, from, to))
+                .thenReturn(Mono.just(responseIsOk));
+
+        MvcResult result = mockMvc.perform(get("/items/1/availability?from=2030-01-01T10:00:00&to=2030-01-08T10:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemClient, Mockito.times(1))
+                .findAvailability(1L, from, to);
+    }
+
+    @Test
+    void ifGettingAvailabilityWithNegativeIdThenStatusIsBadRequest() throws Exception {
+        mockMvc.perform(get("/items/-1/availability?from=2030-01-01T10:00:00&to=2030-01-08T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(itemClient, Mockito.never())
+                .findAvailability(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
+                        Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void ifGettingCommentsAfterCursorThenClientCalledWithCursor() throws Exception {
+        Mockito
+                .when(itemClient.findComments(1L, "abc", 5))
+                .thenReturn(Mono.just(responseIsOk));
+
+        MvcResult result = mockMvc.perform(get("/items/1/comments?after=abc&size=5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemClient, Mockito.times(1))
+                .findComments(1L, "abc", 5);
+        Mockito.verify(itemClient, Mockito.never())
+                .findComments(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    void ifGettingCommentsWithSizeLessThanOneThenStatusIsBadRequest() throws Exception {
+        mockMvc.perform(get("/items/1/comments?size=0"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(itemClient, Mockito.never())
+                .findComments(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt());
+    }
 }
@@ -15,8 +15,10 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.errors.ErrorHandler;
 import ru.practicum.shareit.request.RequestClient;
 import ru.practicum.shareit.request.RequestController;
@@ -26,8 +28,10 @@ import javax.validation.ConstraintViolationException;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ContextConfiguration(classes = RequestController.class)
@@ -67,14 +71,17 @@ class RequestControllerTests {
     void ifCreateCorrectRequestThenStatusIsOk() throws Exception {
         Mockito
                 .when(requestClient.create(2L, requestDto))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(post("/requests")
+        MvcResult result = mockMvc.perform(post("/requests")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .header("X-Sharer-User-Id", 2L)
                         .content(mapper.writeValueAsString(requestDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(requestClient, Mockito.times(1))
@@ -121,10 +128,13 @@ class RequestControllerTests {
     void ifGettingAllByUserIdThenStatusIsOk() throws Exception {
         Mockito
                 .when(requestClient.findAllByUserId(2L))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(get("/requests")
+        MvcResult result = mockMvc.perform(get("/requests")
                         .header("X-Sharer-User-Id", 2L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(requestClient, Mockito.times(1))
@@ -135,10 +145,13 @@ class RequestControllerTests {
     void ifGettingValidRequestByIdThenStatusIsOk() throws Exception {
         Mockito
                 .when(requestClient.findByRequestId(2L, 3L))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(get("/requests/3")
+        MvcResult result = mockMvc.perform(get("/requests/3")
                         .header("X-Sharer-User-Id", 2L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(requestClient, Mockito.times(1))
@@ -171,10 +184,13 @@ class RequestControllerTests {
     void ifGettingAllThenStatusIsOk() throws Exception {
         Mockito
                 .when(requestClient.findAll(2L, 0, 10))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(get("/requests/all")
+        MvcResult result = mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", 2L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(requestClient, Mockito.times(1))
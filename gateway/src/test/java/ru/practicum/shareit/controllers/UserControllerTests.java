@@ -14,8 +14,10 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.errors.ErrorHandler;
 import ru.practicum.shareit.user.UserClient;
 import ru.practicum.shareit.user.UserController;
@@ -23,9 +25,11 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.ConstraintViolationException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ContextConfiguration(classes = UserController.class)
@@ -47,6 +51,7 @@ class UserControllerTests {
                 .email("serafim@yandex.ru")
                 .name("Серафим")
                 .build();
+        responseIsOk = ResponseEntity.ok().build();
     }
 
     @BeforeEach
@@ -62,19 +67,39 @@ class UserControllerTests {
     void ifCreatingCorrectUserThenStatusIsOk() throws Exception {
         Mockito
                 .when(userClient.create(userDto))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(post("/users")
+        MvcResult result = mockMvc.perform(post("/users")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .content(mapper.writeValueAsString(userDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(userClient, Mockito.times(1))
                 .create(userDto);
     }
 
+    @Test
+    void ifUsersBatchHasUserWithoutEmailThenStatusIsBadRequest() throws Exception {
+        UserDto withoutEmail = UserDto.builder()
+                .name("яБезПочты")
+                .build();
+
+        mockMvc.perform(post("/users/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(userDto, withoutEmail))))
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(userClient, Mockito.never())
+                .createAll(Mockito.anyList());
+    }
+
     @Test
     void ifCreatingUserWithoutEmailThenStatusIsBadRequest() throws Exception {
         UserDto withoutEmail = UserDto.builder()
@@ -97,14 +122,17 @@ class UserControllerTests {
     void ifUpdatingCorrectUserThenStatusIsOk() throws Exception {
         Mockito
                 .when(userClient.update(1L, userDto))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(patch("/users/1")
+        MvcResult result = mockMvc.perform(patch("/users/1")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .header("X-Sharer-User-Id", 1L)
                         .content(mapper.writeValueAsString(userDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(userClient, Mockito.times(1))
@@ -178,9 +206,12 @@ class UserControllerTests {
     void ifGettingValidUserByIdThenStatusIsOk() throws Exception {
         Mockito
                 .when(userClient.findById(12L))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(get("/users/12"))
+        MvcResult result = mockMvc.perform(get("/users/12"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(userClient, Mockito.times(1))
@@ -199,7 +230,14 @@ class UserControllerTests {
 
     @Test
     void ifGettingAllThenStatusIsOk() throws Exception {
-        mockMvc.perform(get("/users"))
+        Mockito
+                .when(userClient.findAll())
+                .thenReturn(Mono.just(responseIsOk));
+
+        MvcResult result = mockMvc.perform(get("/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(userClient, Mockito.times(1))
@@ -210,9 +248,12 @@ class UserControllerTests {
     void ifDeletingWithCorrectIdThenStatusIsOk() throws Exception {
         Mockito
                 .when(userClient.deleteById(12L))
-                .thenReturn(responseIsOk);
+                .thenReturn(Mono.just(responseIsOk));
 
-        mockMvc.perform(delete("/users/12"))
+        MvcResult result = mockMvc.perform(delete("/users/12"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         Mockito.verify(userClient, Mockito.times(1))
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.errors.exceptions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult<T> {
+    private int index;
+    private int status;
+    private T result;
+    private String error;
+
+    public static <T> BatchResult<T> ok(int index, T result) {
+        return new BatchResult<>(index, HttpStatus.OK.value(), result, null);
+    }
+
+    public static <T> BatchResult<T> failed(int index, RuntimeException e) {
+        return new BatchResult<>(index, statusOf(e).value(), null, e.getMessage());
+    }
+
+    public static <T, R> List<BatchResult<R>> forEach(List<T> elements, Function<T, R> action) {
+        List<BatchResult<R>> results = new ArrayList<>(elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            try {
+                results.add(ok(i, action.apply(elements.get(i))));
+            } catch (ItemNotFoundException | UserNotFoundException | BookingNotFoundException | NoAccessException |
+                     RequestNotFoundException | DuplicateEmailException | BookingOverlapException |
+                     BadRequestException e) {
+                results.add(failed(i, e));
+            }
+        }
+        return results;
+    }
+
+    private static HttpStatus statusOf(RuntimeException e) {
+        if (e instanceof DuplicateEmailException || e instanceof BookingOverlapException) return HttpStatus.CONFLICT;
+        if (e instanceof BadRequestException) return HttpStatus.BAD_REQUEST;
+        return HttpStatus.NOT_FOUND;
+    }
+}
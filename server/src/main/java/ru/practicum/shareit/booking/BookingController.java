@@ -1,10 +1,13 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingFinishDto;
 import ru.practicum.shareit.booking.dto.BookingStartDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.Cursor;
 
 import java.util.List;
 
@@ -30,24 +33,41 @@ public class BookingController {
         return bookingService.update(userId, bookingId, isApproved);
     }
 
+    @PatchMapping("/batch")
+    public List<BatchResult<BookingFinishDto>> updateAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                         @RequestParam(value = "approved") boolean isApproved,
+                                                         @RequestBody List<Long> bookingIds) {
+        return bookingService.updateAll(userId, bookingIds, isApproved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingFinishDto getById(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long bookingId) {
         return bookingService.getById(userId, bookingId);
     }
 
     @GetMapping("/owner")
-    public List<BookingFinishDto> findBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                      @RequestParam(value = "state") String state,
-                                                      @RequestParam(value = "from") int from,
-                                                      @RequestParam(value = "size") int size) {
-        return bookingService.findBookingsByOwner(userId, state, from, size);
+    public ResponseEntity<List<BookingFinishDto>> findBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(value = "state") String state,
+            @RequestParam(value = "from", required = false, defaultValue = "0") int from,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "after", required = false) String after) {
+        List<BookingFinishDto> bookings = after == null ?
+                bookingService.findBookingsByOwner(userId, state, from, size) :
+                bookingService.findBookingsByOwner(userId, state, Cursor.decode(after), size);
+        return Cursor.withNextCursor(bookings, size, booking -> Cursor.of(booking.getStart(), booking.getId()));
     }
 
     @GetMapping
-    public List<BookingFinishDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(value = "state") String state,
-                                                  @RequestParam(value = "from") int from,
-                                                  @RequestParam(value = "size") int size) {
-        return bookingService.getUserBookings(userId, state, from, size);
+    public ResponseEntity<List<BookingFinishDto>> getUserBookings(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(value = "state") String state,
+            @RequestParam(value = "from", required = false, defaultValue = "0") int from,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "after", required = false) String after) {
+        List<BookingFinishDto> bookings = after == null ?
+                bookingService.getUserBookings(userId, state, from, size) :
+                bookingService.getUserBookings(userId, state, Cursor.decode(after), size);
+        return Cursor.withNextCursor(bookings, size, booking -> Cursor.of(booking.getStart(), booking.getId()));
     }
 }
@@ -4,8 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 
@@ -16,8 +16,21 @@ import java.time.LocalDateTime;
 public class BookingFinishDto {
     private Long id;
     private String status;
-    private Item item;
-    private User booker;
+    private BookingItemDto item;
+    private UserDto booker;
     private LocalDateTime start;
     private LocalDateTime end;
+
+    public BookingFinishDto(Long id, Status status, LocalDateTime start, LocalDateTime end, Long itemId,
+                            String itemName, String itemDescription, Boolean itemAvailable, Long ownerId,
+                            String ownerName, String ownerEmail, Long requestId, String requestDescription,
+                            LocalDateTime requestCreationTime, Long requestorId, String requestorName,
+                            String requestorEmail, Long bookerId, String bookerName, String bookerEmail) {
+        this(id, status.getStatus(), new BookingItemDto(itemId, itemName, itemDescription, itemAvailable,
+                        new UserDto(ownerId, ownerName, ownerEmail),
+                        requestId == null ? null : new BookingItemRequestDto(requestId, requestDescription,
+                                requestorId == null ? null : new UserDto(requestorId, requestorName, requestorEmail),
+                                requestCreationTime)),
+                new UserDto(bookerId, bookerName, bookerEmail), start, end);
+    }
 }
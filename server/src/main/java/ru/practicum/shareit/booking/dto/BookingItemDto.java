@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class BookingItemDto {
+    private Long id;
+    private String name;
+    private String description;
+    private Boolean available;
+    private UserDto owner;
+    private BookingItemRequestDto request;
+}
@@ -3,6 +3,9 @@ package ru.practicum.shareit.booking.dto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 public class BookingMapper {
@@ -16,17 +19,63 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingDto toBookingDto(BookingShortView booking) {
+        return BookingDto.builder()
+                .id(booking.getId())
+                .bookerId(booking.getBookerId())
+                .start(booking.getStartDate())
+                .end(booking.getEndDate())
+                .build();
+    }
+
+    public static BookingDto toLastBookingDto(ItemBookingSummary summary) {
+        if (summary.getLastBookingId() == null) return null;
+        return BookingDto.builder()
+                .id(summary.getLastBookingId())
+                .bookerId(summary.getLastBookerId())
+                .start(summary.getLastStart())
+                .end(summary.getLastEnd())
+                .build();
+    }
+
+    public static BookingDto toNextBookingDto(ItemBookingSummary summary) {
+        if (summary.getNextBookingId() == null) return null;
+        return BookingDto.builder()
+                .id(summary.getNextBookingId())
+                .bookerId(summary.getNextBookerId())
+                .start(summary.getNextStart())
+                .end(summary.getNextEnd())
+                .build();
+    }
+
     public static BookingFinishDto toBookingFinishDto(Booking booking) {
         return BookingFinishDto.builder()
                 .id(booking.getId())
-                .booker(booking.getBooker())
-                .item(booking.getItem())
+                .booker(UserMapper.userDto(booking.getBooker()))
+                .item(toBookingItemDto(booking.getItem()))
                 .start(booking.getStart())
                 .end(booking.getEnd())
                 .status(booking.getStatus().getStatus())
                 .build();
     }
 
+    public static BookingItemDto toBookingItemDto(Item item) {
+        Request request = item.getRequest();
+        return BookingItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .owner(UserMapper.userDto(item.getOwner()))
+                .request(request == null ? null : BookingItemRequestDto.builder()
+                        .id(request.getId())
+                        .description(request.getDescription())
+                        .user(request.getUser() == null ? null : UserMapper.userDto(request.getUser()))
+                        .creationTime(request.getCreationTime())
+                        .build())
+                .build();
+    }
+
     public static Booking toBooking(BookingStartDto bookingStartDto, User user, Item item) {
         return Booking.builder()
                 .id(bookingStartDto.getId())
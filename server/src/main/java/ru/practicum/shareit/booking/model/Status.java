@@ -3,6 +3,9 @@ package ru.practicum.shareit.booking.model;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 @AllArgsConstructor
 @Getter
 public enum Status {
@@ -10,5 +13,8 @@ public enum Status {
     APPROVED("APPROVED"),
     REJECTED("REJECTED"),
     CANCELED("CANCELED");
+
+    public static final Set<Status> ACTIVE = EnumSet.of(WAITING, APPROVED);
+
     private final String status;
 }
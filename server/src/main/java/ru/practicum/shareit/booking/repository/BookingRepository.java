@@ -2,54 +2,187 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingFinishDto;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String FINISH_DTO_SELECT = "select new ru.practicum.shareit.booking.dto.BookingFinishDto(b.id, b.status, " +
+            "b.start, b.end, i.id, i.name, i.description, i.available, o.id, o.name, o.email, r.id, r.description, " +
+            "r.creationTime, ru.id, ru.name, ru.email, u.id, u.name, u.email) from Booking b join b.item i " +
+            "join i.owner o left join i.request r left join r.user ru join b.booker u ";
+
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllById(Iterable<Long> ids);
+
     Optional<Booking> getTopByItem_IdAndBooker_IdOrderByEndAsc(long itemId, long bookerId);
 
     Optional<Booking> getTopByItem_IdAndEndBeforeOrderByStartDesc(long itemId, LocalDateTime localDateTime);
 
     Optional<Booking> getTopByItem_IdAndStartAfterOrderByStartDesc(long itemId, LocalDateTime localDateTime);
 
-    @Query(value = "select b from Booking b where b.booker.id = :bookerId and :dateTime between b.start and b.end")
-    Slice<Booking> findAllByBookerId(@Param("bookerId") long bookerId, @Param("dateTime") LocalDateTime dateTime,
-                                     Pageable pageable);
+    @Query(value = "select distinct b.item.id from Booking b where b.booker.id = :bookerId")
+    List<Long> findItemIdsByBookerId(@Param("bookerId") long bookerId);
+
+    @Query(value = "select min(b.end) from Booking b where b.item.id = :itemId and b.end > :dateTime")
+    Optional<LocalDateTime> findFirstEndAfter(@Param("itemId") long itemId, @Param("dateTime") LocalDateTime dateTime);
+
+    @Query(value = "select b.item_id as itemId, b.booking_id as id, b.booker_id as bookerId, " +
+            "b.start_date as startDate, b.end_date as endDate from (select bk.*, row_number() over " +
+            "(partition by bk.item_id order by bk.start_date desc, bk.booking_id desc) as rn from booking bk " +
+            "where bk.item_id in (:itemIds) and bk.end_date < :dateTime) b where b.rn = 1",
+            nativeQuery = true)
+    List<BookingShortView> findLastBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("dateTime") LocalDateTime dateTime);
+
+    @Query(value = "select b.item_id as itemId, b.booking_id as id, b.booker_id as bookerId, " +
+            "b.start_date as startDate, b.end_date as endDate from (select bk.*, row_number() over " +
+            "(partition by bk.item_id order by bk.start_date desc, bk.booking_id desc) as rn from booking bk " +
+            "where bk.item_id in (:itemIds) and bk.start_date > :dateTime) b where b.rn = 1",
+            nativeQuery = true)
+    List<BookingShortView> findNextBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("dateTime") LocalDateTime dateTime);
+
+    @Query(value = "select case when count(b) > 0 then true else false end from Booking b " +
+            "where b.item.id = :itemId and b.status in :statuses and b.start < :end and b.end > :start")
+    boolean existsOverlapping(@Param("itemId") long itemId, @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end, @Param("statuses") Collection<Status> statuses);
+
+    @Query(value = "select case when count(b) > 0 then true else false end from Booking b " +
+            "where b.item.id = :itemId and b.id <> :bookingId and b.status = :status and b.start < :end and " +
+            "b.end > :start")
+    boolean existsOverlappingExcept(@Param("itemId") long itemId, @Param("bookingId") long bookingId,
+                                    @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                    @Param("status") Status status);
+
+    @Query(value = "select b.start as startDate, b.end as endDate from Booking b where b.item.id = :itemId and " +
+            "b.status in :statuses and b.start < :to and b.end > :from order by b.start")
+    Stream<BookingPeriodView> streamBookedPeriods(@Param("itemId") long itemId, @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to,
+                                                  @Param("statuses") Collection<Status> statuses);
+
+    @Query(value = FINISH_DTO_SELECT + "where b.booker.id = :bookerId and :dateTime between b.start and b.end")
+    Slice<BookingFinishDto> findAllByBookerId(@Param("bookerId") long bookerId,
+                                              @Param("dateTime") LocalDateTime dateTime, Pageable pageable);
+
+    @Query(value = FINISH_DTO_SELECT + "where i.owner.id = :ownerId")
+    Slice<BookingFinishDto> findAllByOwnerId(@Param("ownerId") long ownerId, Pageable pageable);
+
+    @Query(value = FINISH_DTO_SELECT + "where i.owner.id = :ownerId and (:dateTime between b.start and b.end)")
+    Slice<BookingFinishDto> findAllCurrentByOwnerId(@Param("ownerId") long ownerId,
+                                                    @Param("dateTime") LocalDateTime dateTime, Pageable pageable);
+
+    @Query(value = FINISH_DTO_SELECT + "where i.owner.id = :ownerId and b.end < :dateTime")
+    Slice<BookingFinishDto> getAllPastByOwnerId(@Param("ownerId") long ownerId,
+                                                @Param("dateTime") LocalDateTime dateTime, Pageable pageable);
+
+    @Query(value = FINISH_DTO_SELECT + "where i.owner.id = :ownerId and b.start > :dateTime")
+    Slice<BookingFinishDto> findAllFutureByOwnerId(@Param("ownerId") long ownerId,
+                                                   @Param("dateTime") LocalDateTime dateTime, Pageable pageable);
+
+    @Query(value = FINISH_DTO_SELECT + "where i.owner.id = :ownerId and b.status = :status")
+    Slice<BookingFinishDto> findAllByOwnerIdAndStatus(@Param("ownerId") long ownerId, @Param("status") Status status,
+                                                      Pageable pageable);
+
+    @Query(value = FINISH_DTO_SELECT + "where b.booker.id = :bookerId")
+    Slice<BookingFinishDto> getAllByBookerId(@Param("bookerId") long bookerId, Pageable pageable);
+
+    @Query(value = FINISH_DTO_SELECT + "where b.booker.id = :bookerId and b.start > :dateTime")
+    Slice<BookingFinishDto> findAllByBookerIdAndStartAfter(@Param("bookerId") long bookerId,
+                                                           @Param("dateTime") LocalDateTime dateTime,
+                                                           Pageable pageable);
+
+    @Query(value = FINISH_DTO_SELECT + "where b.booker.id = :bookerId and b.end < :dateTime")
+    Slice<BookingFinishDto> findAllByBookerIdAndEndBefore(@Param("bookerId") long bookerId,
+                                                          @Param("dateTime") LocalDateTime dateTime,
+                                                          Pageable pageable);
+
+    @Query(value = FINISH_DTO_SELECT + "where b.booker.id = :bookerId and b.status = :status")
+    Slice<BookingFinishDto> findAllByBookerIdAndStatus(@Param("bookerId") long bookerId,
+                                                       @Param("status") Status status, Pageable pageable);
+
+    @Query(value = FINISH_DTO_SELECT + "where i.owner.id = :ownerId and " +
+            "(b.start < :start or (b.start = :start and b.id < :id))")
+    Slice<BookingFinishDto> findAllByOwnerIdAfterCursor(@Param("ownerId") long ownerId,
+                                                        @Param("start") LocalDateTime start,
+                                                        @Param("id") long id, Pageable pageable);
 
-    @Query(value = "select b from Booking b left join Item i on b.item.id = i.id where i.owner.id = :ownerId")
-    Slice<Booking> findAllByOwnerId(@Param("ownerId") long ownerId, Pageable pageable);
+    @Query(value = FINISH_DTO_SELECT + "where i.owner.id = :ownerId and " +
+            "(:dateTime between b.start and b.end) and (b.start < :start or (b.start = :start and b.id < :id))")
+    Slice<BookingFinishDto> findAllCurrentByOwnerIdAfterCursor(@Param("ownerId") long ownerId,
+                                                               @Param("dateTime") LocalDateTime dateTime,
+                                                               @Param("start") LocalDateTime start,
+                                                               @Param("id") long id, Pageable pageable);
 
-    @Query(value = "select b from Booking b left join Item i on b.item.id = i.id where i.owner.id = :ownerId and " +
-            "(:dateTime between b.start and b.end)")
-    Slice<Booking> findAllCurrentByOwnerId(@Param("ownerId") long ownerId, @Param("dateTime") LocalDateTime dateTime,
-                                           Pageable pageable);
+    @Query(value = FINISH_DTO_SELECT + "where i.owner.id = :ownerId and b.end < :dateTime and " +
+            "(b.start < :start or (b.start = :start and b.id < :id))")
+    Slice<BookingFinishDto> getAllPastByOwnerIdAfterCursor(@Param("ownerId") long ownerId,
+                                                           @Param("dateTime") LocalDateTime dateTime,
+                                                           @Param("start") LocalDateTime start, @Param("id") long id,
+                                                           Pageable pageable);
 
-    @Query(value = "select b from Booking b left join Item i on b.item.id = i.id where i.owner.id = :ownerId and b" +
-            ".end < :dateTime")
-    Slice<Booking> getAllPastByOwnerId(@Param("ownerId") long ownerId, @Param("dateTime") LocalDateTime dateTime,
-                                       Pageable pageable);
+    @Query(value = FINISH_DTO_SELECT + "where i.owner.id = :ownerId and b.start > :dateTime and " +
+            "(b.start < :start or (b.start = :start and b.id < :id))")
+    Slice<BookingFinishDto> findAllFutureByOwnerIdAfterCursor(@Param("ownerId") long ownerId,
+                                                              @Param("dateTime") LocalDateTime dateTime,
+                                                              @Param("start") LocalDateTime start, @Param("id") long id,
+                                                              Pageable pageable);
 
-    @Query(value = "select b from Booking b left join Item i on b.item.id = i.id where i.owner.id = :ownerId and b" +
-            ".start > :dateTime")
-    Slice<Booking> findAllFutureByOwnerId(@Param("ownerId") long ownerId, @Param("dateTime") LocalDateTime dateTime,
-                                          Pageable pageable);
+    @Query(value = FINISH_DTO_SELECT + "where i.owner.id = :ownerId and b.status = :status and " +
+            "(b.start < :start or (b.start = :start and b.id < :id))")
+    Slice<BookingFinishDto> findAllByOwnerIdAndStatusAfterCursor(@Param("ownerId") long ownerId,
+                                                                 @Param("status") Status status,
+                                                                 @Param("start") LocalDateTime start,
+                                                                 @Param("id") long id, Pageable pageable);
 
-    @Query(value = "select b from Booking b left join Item i on b.item.id = i.id where i.owner.id = :ownerId and b" +
-            ".status = :status")
-    Slice<Booking> findAllByOwnerIdAndStatus(@Param("ownerId") long ownerId, @Param("status") Status status,
-                                           Pageable pageable);
+    @Query(value = FINISH_DTO_SELECT + "where b.booker.id = :bookerId and " +
+            "(b.start < :start or (b.start = :start and b.id < :id))")
+    Slice<BookingFinishDto> getAllByBookerIdAfterCursor(@Param("bookerId") long bookerId,
+                                                        @Param("start") LocalDateTime start,
+                                                        @Param("id") long id, Pageable pageable);
 
-    Slice<Booking> getAllByBookerId(long bookerId, Pageable pageable);
+    @Query(value = FINISH_DTO_SELECT + "where b.booker.id = :bookerId and " +
+            ":dateTime between b.start and b.end and (b.start < :start or (b.start = :start and b.id < :id))")
+    Slice<BookingFinishDto> findAllCurrentByBookerIdAfterCursor(@Param("bookerId") long bookerId,
+                                                                @Param("dateTime") LocalDateTime dateTime,
+                                                                @Param("start") LocalDateTime start,
+                                                                @Param("id") long id, Pageable pageable);
 
-    Slice<Booking> findAllByBookerIdAndStartAfter(long bookerId, LocalDateTime localDateTime, Pageable pageable);
+    @Query(value = FINISH_DTO_SELECT + "where b.booker.id = :bookerId and b.start > :dateTime and " +
+            "(b.start < :start or (b.start = :start and b.id < :id))")
+    Slice<BookingFinishDto> findAllFutureByBookerIdAfterCursor(@Param("bookerId") long bookerId,
+                                                               @Param("dateTime") LocalDateTime dateTime,
+                                                               @Param("start") LocalDateTime start,
+                                                               @Param("id") long id, Pageable pageable);
 
-    Slice<Booking> findAllByBookerIdAndEndBefore(long bookerId, LocalDateTime localDateTime, Pageable pageable);
+    @Query(value = FINISH_DTO_SELECT + "where b.booker.id = :bookerId and b.end < :dateTime and " +
+            "(b.start < :start or (b.start = :start and b.id < :id))")
+    Slice<BookingFinishDto> findAllPastByBookerIdAfterCursor(@Param("bookerId") long bookerId,
+                                                             @Param("dateTime") LocalDateTime dateTime,
+                                                             @Param("start") LocalDateTime start, @Param("id") long id,
+                                                             Pageable pageable);
 
-    Slice<Booking> findAllByBookerIdAndStatus(long bookerId, Status status, Pageable pageable);
+    @Query(value = FINISH_DTO_SELECT + "where b.booker.id = :bookerId and b.status = :status and " +
+            "(b.start < :start or (b.start = :start and b.id < :id))")
+    Slice<BookingFinishDto> findAllByBookerIdAndStatusAfterCursor(@Param("bookerId") long bookerId,
+                                                                  @Param("status") Status status,
+                                                                  @Param("start") LocalDateTime start,
+                                                                  @Param("id") long id, Pageable pageable);
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingEvent;
+
+import java.util.List;
+
+@Component
+public class BookingAnalyticsListener implements BookingEventListener {
+    private final MeterRegistry meterRegistry;
+
+    public BookingAnalyticsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onEvents(List<BookingEvent> events) {
+        events.forEach(event -> meterRegistry.counter("shareit.bookings", "event", event.getType().name())
+                .increment());
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.model.BookingEvent;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "shareit.booking-events.dispatch.enabled", havingValue = "true")
+public class BookingEventDispatcher {
+    private final BookingEventOutbox outbox;
+    private final List<BookingEventListener> listeners;
+    private final int batchSize;
+    private final Duration pollDelay;
+    private final Duration retention;
+    private final ScheduledExecutorService poller;
+    private final ThreadPoolExecutor workers;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final Counter dispatched;
+    private final Counter retried;
+    private final Counter exhausted;
+    private final Counter throttled;
+    private final Timer lag;
+
+    public BookingEventDispatcher(BookingEventOutbox outbox, List<BookingEventListener> listeners,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${shareit.booking-events.threads:2}") int threads,
+                                  @Value("${shareit.booking-events.queue-capacity:64}") int queueCapacity,
+                                  @Value("${shareit.booking-events.batch-size:100}") int batchSize,
+                                  @Value("${shareit.booking-events.poll-delay:PT1S}") Duration pollDelay,
+                                  @Value("${shareit.booking-events.retention:P7D}") Duration retention) {
+        this.outbox = outbox;
+        this.listeners = List.copyOf(listeners);
+        this.batchSize = batchSize;
+        this.pollDelay = pollDelay;
+        this.retention = retention;
+        this.poller = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("booking-events-poller-"));
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, this.listeners.size())),
+                new CustomizableThreadFactory("booking-events-"));
+        this.dispatched = meterRegistry.counter("shareit.booking.events", "outcome", "dispatched");
+        this.retried = meterRegistry.counter("shareit.booking.events", "outcome", "retried");
+        this.exhausted = meterRegistry.counter("shareit.booking.events", "outcome", "exhausted");
+        this.throttled = meterRegistry.counter("shareit.booking.events.throttled");
+        this.lag = meterRegistry.timer("shareit.booking.events.lag");
+        Gauge.builder("shareit.booking.events.queue", workers, executor -> executor.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("shareit.booking.events.pending", outbox, BookingEventOutbox::countPending)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        poller.scheduleWithFixedDelay(this::poll, 0, pollDelay.toMillis(), TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purge, 1, 1, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        poller.shutdown();
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.SECONDS))
+            log.warn("Не все события бронирований доставлены до остановки; они будут доставлены после запуска");
+    }
+
+    @TransactionalEventListener
+    public void onRecorded(BookingEventOutbox.Recorded recorded) {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            try {
+                poller.execute(() -> {
+                    wakeUpPending.set(false);
+                    poll();
+                });
+            } catch (RejectedExecutionException e) {
+                wakeUpPending.set(false);
+            }
+        }
+    }
+
+    void poll() {
+        try {
+            int claimed;
+            do {
+                claimed = dispatchBatch(LocalDateTime.now());
+            } while (claimed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось забрать события бронирований из очереди", e);
+        }
+    }
+
+    // Возвращает размер пачки или 0, если событий нет или пул слушателей перегружен.
+    int dispatchBatch(LocalDateTime now) {
+        if (workers.getQueue().remainingCapacity() < listeners.size()) {
+            throttled.increment();
+            return 0;
+        }
+        List<BookingEvent> batch = List.copyOf(outbox.claim(now, batchSize));
+        if (batch.isEmpty()) return 0;
+
+        CompletableFuture<?>[] deliveries = listeners.stream()
+                .map(listener -> CompletableFuture.runAsync(() -> listener.onEvents(batch), workers))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(deliveries).whenComplete((result, error) -> complete(batch, error));
+        return batch.size();
+    }
+
+    private void complete(List<BookingEvent> batch, Throwable error) {
+        List<Long> ids = batch.stream().map(BookingEvent::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            if (error == null) {
+                outbox.dispatched(ids, now);
+                dispatched.increment(batch.size());
+                batch.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ?
+                    error.getCause() : error;
+            int failed = outbox.failed(ids, String.valueOf(cause), now);
+            retried.increment(batch.size() - failed);
+            exhausted.increment(failed);
+            log.warn("Пачка из {} событий бронирований не доставлена, исчерпали попытки: {}", batch.size(), failed,
+                    cause);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось сохранить результат доставки событий {}; они будут доставлены повторно", ids, e);
+        }
+    }
+
+    private void purge() {
+        try {
+            int purged = outbox.purge(LocalDateTime.now().minus(retention));
+            if (purged > 0) log.debug("Удалено доставленных событий бронирований: {}", purged);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось удалить доставленные события бронирований", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.model.BookingEvent;
+
+import java.util.List;
+
+// Доставка «хотя бы один раз»: обработка пачки должна быть идемпотентной.
+public interface BookingEventListener {
+    void onEvents(List<BookingEvent> events);
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.booking.model.BookingEventType;
+import ru.practicum.shareit.booking.repository.BookingEventRepository;
+import ru.practicum.shareit.pagination.Pagination;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@Transactional
+public class BookingEventOutbox {
+    private final BookingEventRepository eventRepository;
+    private final ApplicationEventPublisher applicationEvents;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+
+    public BookingEventOutbox(BookingEventRepository eventRepository, ApplicationEventPublisher applicationEvents,
+                              @Value("${shareit.booking-events.lease:PT1M}") Duration lease,
+                              @Value("${shareit.booking-events.retry-delay:PT5S}") Duration retryDelay,
+                              @Value("${shareit.booking-events.max-attempts:10}") int maxAttempts) {
+        this.eventRepository = eventRepository;
+        this.applicationEvents = applicationEvents;
+        this.lease = lease;
+        this.retryDelay = retryDelay;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(BookingEventType type, Booking booking) {
+        eventRepository.save(BookingEvent.of(type, booking, LocalDateTime.now()));
+        applicationEvents.publishEvent(Recorded.INSTANCE);
+    }
+
+    // nextAttemptAt продлевается на время аренды, чтобы события не взял повторно другой экземпляр.
+    public List<BookingEvent> claim(LocalDateTime now, int limit) {
+        List<BookingEvent> events = eventRepository.findDueForUpdate(now, Pagination.of(0, limit));
+        events.forEach(event -> event.setNextAttemptAt(now.plus(lease)));
+        return events;
+    }
+
+    public void dispatched(Collection<Long> eventIds, LocalDateTime now) {
+        eventRepository.markDispatched(eventIds, now);
+    }
+
+    // Возвращает число событий, исчерпавших maxAttempts попыток.
+    public int failed(Collection<Long> eventIds, String error, LocalDateTime now) {
+        int exhausted = 0;
+        for (BookingEvent event : eventRepository.findAllById(eventIds)) {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLastError(error == null || error.length() <= 400 ? error : error.substring(0, 400));
+            if (attempts >= maxAttempts) {
+                event.setNextAttemptAt(null);
+                exhausted++;
+            } else {
+                event.setNextAttemptAt(now.plus(retryDelay.multipliedBy(1L << Math.min(attempts - 1, 16))));
+            }
+        }
+        return exhausted;
+    }
+
+    public int purge(LocalDateTime before) {
+        return eventRepository.deleteDispatchedBefore(before);
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return eventRepository.countPending();
+    }
+
+    public static final class Recorded {
+        static final Recorded INSTANCE = new Recorded();
+
+        private Recorded() {
+        }
+    }
+}
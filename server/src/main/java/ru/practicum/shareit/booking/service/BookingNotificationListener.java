@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingEvent;
+
+import java.util.List;
+
+// Канала доставки пока нет, поэтому уведомления пишутся в журнал.
+@Slf4j
+@Component
+public class BookingNotificationListener implements BookingEventListener {
+    @Override
+    public void onEvents(List<BookingEvent> events) {
+        for (BookingEvent event : events) {
+            switch (event.getType()) {
+                case CREATED:
+                    log.info("Уведомление владельцу {}: вещь {} забронирована, бронирование {}", event.getOwnerId(),
+                            event.getItemId(), event.getBookingId());
+                    break;
+                case APPROVED:
+                    log.info("Уведомление арендатору {}: бронирование {} подтверждено", event.getBookerId(),
+                            event.getBookingId());
+                    break;
+                case REJECTED:
+                    log.info("Уведомление арендатору {}: бронирование {} отклонено", event.getBookerId(),
+                            event.getBookingId());
+                    break;
+            }
+        }
+    }
+}
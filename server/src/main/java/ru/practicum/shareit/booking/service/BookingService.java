@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingFinishDto;
 import ru.practicum.shareit.booking.dto.BookingStartDto;
+import ru.practicum.shareit.pagination.Cursor;
 
 import java.util.List;
 
@@ -10,9 +12,15 @@ public interface BookingService {
 
     BookingFinishDto update(long userId, long bookingId, boolean approved);
 
+    List<BatchResult<BookingFinishDto>> updateAll(long userId, List<Long> bookingIds, boolean approved);
+
     BookingFinishDto getById(long userId, long bookingId);
 
     List<BookingFinishDto> findBookingsByOwner(long ownerId, String state, int from, int size);
 
+    List<BookingFinishDto> findBookingsByOwner(long ownerId, String state, Cursor after, int size);
+
     List<BookingFinishDto> getUserBookings(long userId, String state, int from, int size);
+
+    List<BookingFinishDto> getUserBookings(long userId, String state, Cursor after, int size);
 }
@@ -4,68 +4,113 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingFinishDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingStartDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEventType;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.exceptions.BadRequestException;
 import ru.practicum.shareit.errors.exceptions.BookingNotFoundException;
+import ru.practicum.shareit.errors.exceptions.BookingOverlapException;
 import ru.practicum.shareit.errors.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.errors.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Sort SORTED_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start", "id");
 
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemBookingSummaryService bookingSummaries;
+    private final BookingEventOutbox bookingEvents;
+    private final EntityCache entityCache;
 
-    public BookingServiceImpl(BookingRepository bookingRepository, UserRepository userRepository,
-                              ItemRepository itemRepository) {
+    public BookingServiceImpl(BookingRepository bookingRepository, ItemRepository itemRepository,
+                              ItemBookingSummaryService bookingSummaries, BookingEventOutbox bookingEvents,
+                              EntityCache entityCache) {
         this.bookingRepository = bookingRepository;
-        this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.bookingSummaries = bookingSummaries;
+        this.bookingEvents = bookingEvents;
+        this.entityCache = entityCache;
     }
 
     @Override
+    @Transactional
     public BookingFinishDto create(long userId, BookingStartDto bookingStartDto) {
-        Item item = itemRepository.findById(bookingStartDto.getItemId())
+        Item item = itemRepository.findByIdForUpdate(bookingStartDto.getItemId())
                 .orElseThrow(() -> new ItemNotFoundException("Вещь с таким id не найдена"));
         if (!item.getAvailable())
             throw new BadRequestException("Вещь недоступна, поэтому бронирование невозможно");
-        User user = userRepository.findById(userId)
+        User user = entityCache.findUser(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с таким id не найден"));
         if (userId == item.getOwner().getId())
             throw new ItemNotFoundException("Пользователь не может забронировать свою вещь");
+        if (bookingRepository.existsOverlapping(item.getId(), bookingStartDto.getStart(), bookingStartDto.getEnd(),
+                Status.ACTIVE))
+            throw new BookingOverlapException("Вещь уже забронирована на это время");
 
         bookingStartDto.setStatus(Status.WAITING.getStatus());
-        return BookingMapper.toBookingFinishDto(bookingRepository.save(BookingMapper.toBooking(bookingStartDto, user,
-                item)));
+        Booking booking = bookingRepository.save(BookingMapper.toBooking(bookingStartDto, user, item));
+        bookingSummaries.refresh(item.getId(), LocalDateTime.now());
+        bookingEvents.record(BookingEventType.CREATED, booking);
+        return BookingMapper.toBookingFinishDto(booking);
     }
 
     @Override
+    @Transactional
     public BookingFinishDto update(long userId, long bookingId, boolean isApproved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Бронирование с таким id не найдено"));
+        return changeStatus(userId, bookingId, booking, isApproved);
+    }
+
+    @Override
+    @Transactional
+    public List<BatchResult<BookingFinishDto>> updateAll(long userId, List<Long> bookingIds, boolean isApproved) {
+        Map<Long, Booking> bookings = bookingRepository.findAllById(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, booking -> booking));
+        return BatchResult.forEach(bookingIds, bookingId -> {
+            Booking booking = bookings.get(bookingId);
+            if (booking == null)
+                throw new BookingNotFoundException("Бронирование с таким id не найдено");
+            return changeStatus(userId, bookingId, booking, isApproved);
+        });
+    }
 
+    private BookingFinishDto changeStatus(long userId, long bookingId, Booking booking, boolean isApproved) {
         if (userId != booking.getItem().getOwner().getId())
             throw new BookingNotFoundException("Бронирование с таким id не найдено");
         if (booking.getStatus() == Status.APPROVED || booking.getStatus() == Status.REJECTED)
             throw new BadRequestException("Нельзя изменить статус");
+        if (isApproved) {
+            itemRepository.findByIdForUpdate(booking.getItem().getId());
+            if (bookingRepository.existsOverlappingExcept(booking.getItem().getId(), bookingId, booking.getStart(),
+                    booking.getEnd(), Status.APPROVED))
+                throw new BookingOverlapException("Вещь уже забронирована на это время");
+        }
 
         booking.setStatus(isApproved ? Status.APPROVED : Status.REJECTED);
-        return BookingMapper.toBookingFinishDto(bookingRepository.save(booking));
+        Booking saved = bookingRepository.save(booking);
+        bookingEvents.record(isApproved ? BookingEventType.APPROVED : BookingEventType.REJECTED, saved);
+        return BookingMapper.toBookingFinishDto(saved);
     }
 
     @Override
@@ -83,23 +128,36 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingFinishDto> findBookingsByOwner(long ownerId, String state, int from, int size) {
         if (!itemRepository.existsByOwnerId(ownerId))
             throw new UserNotFoundException("У этого пользователя нет доступных вещей");
-        Pageable sortedByStartDesc = Pagination.of(from, size, Sort.by("start").descending());
-        return getFilteredBookingsByStateAndOwnerId(ownerId, sortedByStartDesc, state).get()
-                .map(BookingMapper::toBookingFinishDto)
-                .collect(Collectors.toList());
+        Pageable sortedByStartDesc = Pagination.of(from, size, SORTED_BY_START_DESC);
+        return getFilteredBookingsByStateAndOwnerId(ownerId, sortedByStartDesc, state).getContent();
+    }
+
+    @Override
+    public List<BookingFinishDto> findBookingsByOwner(long ownerId, String state, Cursor after, int size) {
+        if (!itemRepository.existsByOwnerId(ownerId))
+            throw new UserNotFoundException("У этого пользователя нет доступных вещей");
+        Pageable sortedByStartDesc = Pagination.of(0, size, SORTED_BY_START_DESC);
+        return getFilteredBookingsByStateAndOwnerId(ownerId, after, sortedByStartDesc, state).getContent();
     }
 
     @Override
     public List<BookingFinishDto> getUserBookings(long userId, String state, int from, int size) {
-        if (!userRepository.existsById(userId))
+        if (!entityCache.userExists(userId))
+            throw new UserNotFoundException("Пользователь с таким id не найден");
+        Pageable sortedByStartDesc = Pagination.of(from, size, SORTED_BY_START_DESC);
+        return getFilteredBookingsByStateAndBookerId(userId, sortedByStartDesc, state).getContent();
+    }
+
+    @Override
+    public List<BookingFinishDto> getUserBookings(long userId, String state, Cursor after, int size) {
+        if (!entityCache.userExists(userId))
             throw new UserNotFoundException("Пользователь с таким id не найден");
-        Pageable sortedByStartDesc = Pagination.of(from, size, Sort.by("start").descending());
-        return getFilteredBookingsByStateAndBookerId(userId, sortedByStartDesc, state).get()
-                .map(BookingMapper::toBookingFinishDto)
-                .collect(Collectors.toList());
+        Pageable sortedByStartDesc = Pagination.of(0, size, SORTED_BY_START_DESC);
+        return getFilteredBookingsByStateAndBookerId(userId, after, sortedByStartDesc, state).getContent();
     }
 
-    private Slice<Booking> getFilteredBookingsByStateAndOwnerId(long ownerId, Pageable pageable, String state) {
+    private Slice<BookingFinishDto> getFilteredBookingsByStateAndOwnerId(long ownerId, Pageable pageable,
+                                                                         String state) {
         switch (state) {
             case "ALL":
                 return bookingRepository.findAllByOwnerId(ownerId, pageable);
@@ -114,7 +172,8 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private Slice<Booking> getFilteredBookingsByStateAndBookerId(long bookerId, Pageable pageable, String state) {
+    private Slice<BookingFinishDto> getFilteredBookingsByStateAndBookerId(long bookerId, Pageable pageable,
+                                                                          String state) {
         switch (state) {
             case "ALL":
                 return bookingRepository.getAllByBookerId(bookerId, pageable);
@@ -128,4 +187,48 @@ public class BookingServiceImpl implements BookingService {
                 return bookingRepository.findAllByBookerIdAndStatus(bookerId, Status.valueOf(state), pageable);
         }
     }
-}
\ No newline at end of file
+
+    private Slice<BookingFinishDto> getFilteredBookingsByStateAndOwnerId(long ownerId, Cursor after, Pageable pageable,
+                                                                         String state) {
+        LocalDateTime start = after.requireTime();
+        long id = after.getId();
+        switch (state) {
+            case "ALL":
+                return bookingRepository.findAllByOwnerIdAfterCursor(ownerId, start, id, pageable);
+            case "CURRENT":
+                return bookingRepository.findAllCurrentByOwnerIdAfterCursor(ownerId, LocalDateTime.now(), start, id,
+                        pageable);
+            case "FUTURE":
+                return bookingRepository.findAllFutureByOwnerIdAfterCursor(ownerId, LocalDateTime.now(), start, id,
+                        pageable);
+            case "PAST":
+                return bookingRepository.getAllPastByOwnerIdAfterCursor(ownerId, LocalDateTime.now(), start, id,
+                        pageable);
+            default:
+                return bookingRepository.findAllByOwnerIdAndStatusAfterCursor(ownerId, Status.valueOf(state), start,
+                        id, pageable);
+        }
+    }
+
+    private Slice<BookingFinishDto> getFilteredBookingsByStateAndBookerId(long bookerId, Cursor after,
+                                                                          Pageable pageable, String state) {
+        LocalDateTime start = after.requireTime();
+        long id = after.getId();
+        switch (state) {
+            case "ALL":
+                return bookingRepository.getAllByBookerIdAfterCursor(bookerId, start, id, pageable);
+            case "CURRENT":
+                return bookingRepository.findAllCurrentByBookerIdAfterCursor(bookerId, LocalDateTime.now(), start,
+                        id, pageable);
+            case "FUTURE":
+                return bookingRepository.findAllFutureByBookerIdAfterCursor(bookerId, LocalDateTime.now(), start, id,
+                        pageable);
+            case "PAST":
+                return bookingRepository.findAllPastByBookerIdAfterCursor(bookerId, LocalDateTime.now(), start, id,
+                        pageable);
+            default:
+                return bookingRepository.findAllByBookerIdAndStatusAfterCursor(bookerId, Status.valueOf(state), start,
+                        id, pageable);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemComments;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.pagination.Pagination;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class CommentCache {
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "created", "id");
+
+    private final CommentRepository commentRepository;
+    private final LocalCache<Long, ItemComments> comments;
+    private final int latestSize;
+
+    public CommentCache(CommentRepository commentRepository, MeterRegistry meterRegistry,
+                        @Value("${shareit.cache.max-size:10000}") int maxSize,
+                        @Value("${shareit.cache.ttl:5m}") Duration ttl,
+                        @Value("${shareit.comments.latest-size:10}") int latestSize) {
+        this.commentRepository = commentRepository;
+        this.comments = new LocalCache<>("comments", maxSize, ttl, meterRegistry, Clock.systemUTC());
+        this.latestSize = latestSize;
+    }
+
+    public ItemComments findLatest(long itemId) {
+        return comments.get(itemId, this::load).orElseThrow();
+    }
+
+    public void evict(long itemId) {
+        Evictions.evictNowAndAfterCommit(() -> comments.evict(itemId));
+    }
+
+    public void clear() {
+        Evictions.evictNowAndAfterCommit(comments::clear);
+    }
+
+    private Optional<ItemComments> load(long itemId) {
+        long count = commentRepository.countByItem_Id(itemId);
+        List<CommentDto> latest = count == 0 ? List.of() :
+                commentRepository.findAllByItemId(itemId, Pagination.of(0, latestSize, NEWEST_FIRST)).getContent();
+        return Optional.of(new ItemComments(count, List.copyOf(latest)));
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemAccess;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+public class EntityCache {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final LocalCache<Long, User> users;
+    private final LocalCache<Long, ItemAccess> items;
+
+    public EntityCache(UserRepository userRepository, ItemRepository itemRepository, MeterRegistry meterRegistry,
+                       @Value("${shareit.cache.max-size:10000}") int maxSize,
+                       @Value("${shareit.cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.users = new LocalCache<>("users", maxSize, ttl, meterRegistry, Clock.systemUTC());
+        this.items = new LocalCache<>("items", maxSize, ttl, meterRegistry, Clock.systemUTC());
+    }
+
+    public Optional<User> findUser(long userId) {
+        return users.get(userId, id -> userRepository.findById(id)
+                .map(user -> User.builder()
+                        .id(user.getId())
+                        .name(user.getName())
+                        .email(user.getEmail())
+                        .build()));
+    }
+
+    public boolean userExists(long userId) {
+        return findUser(userId).isPresent();
+    }
+
+    public Optional<ItemAccess> findItemAccess(long itemId) {
+        return items.get(itemId, itemRepository::findAccessById);
+    }
+
+    public void evictUser(long userId) {
+        Evictions.evictNowAndAfterCommit(() -> users.evict(userId));
+    }
+
+    public void evictItem(long itemId) {
+        Evictions.evictNowAndAfterCommit(() -> items.evict(itemId));
+    }
+
+    public void evictItemsOwnedBy(long userId) {
+        Evictions.evictNowAndAfterCommit(() -> items.evictIf(item -> item.getOwnerId() == userId));
+    }
+
+    public void clear() {
+        users.clear();
+        items.clear();
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public class LocalCache<K, V> {
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<K, Entry<V>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long version;
+
+    public LocalCache(String name, int maxSize, Duration ttl, MeterRegistry registry, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= LocalCache.this.maxSize) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(registry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(registry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(registry);
+        Gauge.builder("cache.size", this, LocalCache::size).tag("cache", name).register(registry);
+    }
+
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long loadVersion;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt > clock.millis()) {
+                hits.increment();
+                return Optional.of(entry.value);
+            }
+            if (entry != null) entries.remove(key);
+            misses.increment();
+            loadVersion = version;
+        }
+
+        Optional<V> value = loader.apply(key);
+        if (value.isPresent()) {
+            synchronized (this) {
+                if (loadVersion == version)
+                    entries.put(key, new Entry<>(value.get(), clock.millis() + ttlMillis));
+            }
+        }
+        return value;
+    }
+
+    public synchronized void evict(K key) {
+        version++;
+        entries.remove(key);
+    }
+
+    public synchronized void evictIf(Predicate<V> predicate) {
+        version++;
+        entries.values().removeIf(entry -> predicate.test(entry.value));
+    }
+
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.errors.exceptions;
+
+public class BookingOverlapException extends RuntimeException {
+    public BookingOverlapException(String s) {
+        super(s);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.errors.exceptions;
+
+public class SqlStatementBudgetExceededException extends RuntimeException {
+    public SqlStatementBudgetExceededException(String s) {
+        super(s);
+    }
+}
@@ -1,13 +1,19 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
 import ru.practicum.shareit.item.dto.ItemDtoWithComments;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -25,6 +31,12 @@ public class ItemController {
         return itemService.create(id, item);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResult<ItemDto>> createAll(@RequestHeader(value = "X-Sharer-User-Id") long id,
+                                                @RequestBody List<ItemDto> items) {
+        return itemService.createAll(id, items);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader("X-Sharer-User-Id") long id, @RequestBody ItemDto item,
                           @PathVariable long itemId) {
@@ -37,10 +49,23 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemDtoWithBookings> findByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                 @RequestParam(value = "from") int from,
-                                                 @RequestParam(value = "size") int size) {
-        return itemService.findByOwner(userId, from, size);
+    public ResponseEntity<List<ItemDtoWithBookings>> findByOwner(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(value = "from", required = false, defaultValue = "0") int from,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "after", required = false) String after) {
+        List<ItemDtoWithBookings> items = after == null ?
+                itemService.findByOwner(userId, from, size) :
+                itemService.findByOwner(userId, Cursor.decode(after), size);
+        return Cursor.withNextCursor(items, size, item -> Cursor.of(item.getId()));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilityDto> findAvailability(
+            @PathVariable long itemId,
+            @RequestParam(value = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.findAvailability(itemId, from, to);
     }
 
     @GetMapping("/search")
@@ -55,4 +80,16 @@ public class ItemController {
                                   @PathVariable long itemId) {
         return itemService.createComment(commentDto, userId, itemId);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> findComments(
+            @PathVariable long itemId,
+            @RequestParam(value = "from", required = false, defaultValue = "0") int from,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "after", required = false) String after) {
+        List<CommentDto> comments = after == null ?
+                itemService.findComments(itemId, from, size) :
+                itemService.findComments(itemId, Cursor.decode(after), size);
+        return Cursor.withNextCursor(comments, size, comment -> Cursor.of(comment.getCreated(), comment.getId()));
+    }
 }
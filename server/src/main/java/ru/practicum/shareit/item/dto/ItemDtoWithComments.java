@@ -30,6 +30,7 @@ public class ItemDtoWithComments {
     @NotNull(message = "Доступность не может быть null")
     private Boolean available;
 
+    private Long commentCount;
     private List<CommentDto> comments;
     private BookingDto lastBooking;
     private BookingDto nextBooking;
@@ -5,6 +5,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.Map;
 
 public class ItemMapper {
     public static ItemDto toItemDto(Item item) {
@@ -40,8 +41,13 @@ public class ItemMapper {
                 .build();
     }
 
+    public static ItemDtoWithBookings toItemDtoWithBookings(Item item, Map<Long, BookingDto> lastBookings,
+                                                           Map<Long, BookingDto> nextBookings) {
+        return toItemDtoWithBookings(item, lastBookings.get(item.getId()), nextBookings.get(item.getId()));
+    }
+
     public static ItemDtoWithComments toItemDtoWithComments(Item item, BookingDto last, BookingDto next,
-                                                            List<CommentDto> comment) {
+                                                            ItemComments comments) {
         return ItemDtoWithComments.builder()
                 .id(item.getId())
                 .owner(item.getOwner().getId())
@@ -50,7 +56,8 @@ public class ItemMapper {
                 .available(item.getAvailable())
                 .lastBooking(last)
                 .nextBooking(next)
-                .comments(comment)
+                .commentCount(comments.getCount())
+                .comments(comments.getLatest())
                 .build();
     }
 }
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class ItemWithBookingSummary {
+    private final Item item;
+    private final ItemBookingSummary summary;
+
+    public ItemWithBookingSummary(Long id, String name, String description, Boolean available, Long ownerId,
+                                  Long summaryItemId, Long lastBookingId, Long lastBookerId, LocalDateTime lastStart,
+                                  LocalDateTime lastEnd, Long nextBookingId, Long nextBookerId,
+                                  LocalDateTime nextStart, LocalDateTime nextEnd, LocalDateTime refreshAt) {
+        this.item = Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(User.builder().id(ownerId).build())
+                .build();
+        this.summary = summaryItemId == null ? null : new ItemBookingSummary(summaryItemId, lastBookingId,
+                lastBookerId, lastStart, lastEnd, nextBookingId, nextBookerId, nextStart, nextEnd, refreshAt);
+    }
+}
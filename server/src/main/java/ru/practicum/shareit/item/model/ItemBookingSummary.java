@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// refreshAt — ближайшее начало или конец бронирования вещи; null — сводка со временем не изменится.
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "item_booking_summary")
+public class ItemBookingSummary implements Persistable<Long> {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+
+    @Column(name = "last_start_date")
+    private LocalDateTime lastStart;
+
+    @Column(name = "last_end_date")
+    private LocalDateTime lastEnd;
+
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+
+    @Column(name = "next_start_date")
+    private LocalDateTime nextStart;
+
+    @Column(name = "next_end_date")
+    private LocalDateTime nextEnd;
+
+    @Column(name = "refresh_at")
+    private LocalDateTime refreshAt;
+
+    // id назначен заранее: без этого флага save выполнял бы merge с лишним SELECT.
+    @Transient
+    private transient boolean inserting;
+
+    @Builder
+    public ItemBookingSummary(Long itemId, Long lastBookingId, Long lastBookerId, LocalDateTime lastStart,
+                              LocalDateTime lastEnd, Long nextBookingId, Long nextBookerId, LocalDateTime nextStart,
+                              LocalDateTime nextEnd, LocalDateTime refreshAt) {
+        this.itemId = itemId;
+        this.lastBookingId = lastBookingId;
+        this.lastBookerId = lastBookerId;
+        this.lastStart = lastStart;
+        this.lastEnd = lastEnd;
+        this.nextBookingId = nextBookingId;
+        this.nextBookerId = nextBookerId;
+        this.nextStart = nextStart;
+        this.nextEnd = nextEnd;
+        this.refreshAt = refreshAt;
+    }
+
+    public static ItemBookingSummary empty(long itemId) {
+        ItemBookingSummary summary = ItemBookingSummary.builder().itemId(itemId).build();
+        summary.inserting = true;
+        return summary;
+    }
+
+    @Override
+    public Long getId() {
+        return itemId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return inserting;
+    }
+
+    @PostLoad
+    @PostPersist
+    void persisted() {
+        inserting = false;
+    }
+
+    public boolean isFreshAt(LocalDateTime now) {
+        return refreshAt == null || refreshAt.isAfter(now);
+    }
+}
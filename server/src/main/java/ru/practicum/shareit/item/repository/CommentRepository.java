@@ -1,10 +1,27 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findCommentsByItem_Id(long itemId);
+    String COMMENT_DTO_SELECT = "select new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, a.name, " +
+            "c.created) from Comment c join c.authorName a ";
+
+    long countByItem_Id(long itemId);
+
+    @Query(value = COMMENT_DTO_SELECT + "where c.item.id = :itemId")
+    Slice<CommentDto> findAllByItemId(@Param("itemId") long itemId, Pageable pageable);
+
+    @Query(value = COMMENT_DTO_SELECT + "where c.item.id = :itemId and " +
+            "(c.created < :created or (c.created = :created and c.id < :id))")
+    Slice<CommentDto> findAllByItemIdAfterCursor(@Param("itemId") long itemId,
+                                                 @Param("created") LocalDateTime created,
+                                                 @Param("id") long id, Pageable pageable);
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    @Query(value = "select s.itemId from ItemBookingSummary s where s.refreshAt <= :now order by s.refreshAt")
+    List<Long> findStaleItemIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -3,20 +3,56 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemAccess;
+import ru.practicum.shareit.item.dto.ItemWithBookingSummary;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String ITEM_WITH_SUMMARY_SELECT = "select new ru.practicum.shareit.item.dto.ItemWithBookingSummary(i.id, i.name, " +
+            "i.description, i.available, i.owner.id, s.itemId, s.lastBookingId, s.lastBookerId, s.lastStart, " +
+            "s.lastEnd, s.nextBookingId, s.nextBookerId, s.nextStart, s.nextEnd, s.refreshAt) from Item i " +
+            "left join ItemBookingSummary s on s.itemId = i.id ";
+
     @Query(value = "select i from Item i where (upper(i.name) like upper(concat('%', :text, '%')) or upper(i" +
             ".description) like upper(concat('%', :text, '%'))) and i.available = true")
     Slice<Item> searchText(@Param("text") String text, Pageable pageable);
 
-    Slice<Item> findItemsByOwnerId(long ownerId, Pageable pageable);
+    @Query(value = "select i.* from item i where i.is_available = true and " +
+            "i.search_vector @@ to_tsquery('simple', :query) " +
+            "order by ts_rank(i.search_vector, to_tsquery('simple', :query)) desc, i.item_id", nativeQuery = true)
+    Slice<Item> searchFullText(@Param("query") String query, Pageable pageable);
+
+    @Query(value = ITEM_WITH_SUMMARY_SELECT + "where i.owner.id = :ownerId")
+    Slice<ItemWithBookingSummary> findWithBookingSummaryByOwnerId(@Param("ownerId") long ownerId, Pageable pageable);
+
+    @Query(value = ITEM_WITH_SUMMARY_SELECT + "where i.owner.id = :ownerId and i.id > :id")
+    Slice<ItemWithBookingSummary> findWithBookingSummaryByOwnerIdAfter(@Param("ownerId") long ownerId,
+                                                                       @Param("id") long id, Pageable pageable);
+
+    @Query(value = "select i.id from Item i where i.id > :after order by i.id")
+    List<Long> findIdsAfter(@Param("after") long after, Pageable pageable);
 
     List<Item> findItemsByRequestId(long requestId);
 
+    @Query(value = "select i from Item i join fetch i.owner join fetch i.request r join fetch r.user " +
+            "where r.id in :requestIds order by i.id")
+    List<Item> findItemsByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
     boolean existsByOwnerId(long ownerId);
+
+    @Query(value = "select new ru.practicum.shareit.item.dto.ItemAccess(i.id, i.owner.id, i.available) " +
+            "from Item i where i.id = :id")
+    Optional<ItemAccess> findAccessById(@Param("id") long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select i from Item i where i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") long id);
 }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@EnableScheduling
+@ConditionalOnProperty(value = "shareit.booking-summary.jobs.enabled", havingValue = "true")
+public class ItemBookingSummaryJobs {
+    private final ItemBookingSummaryService summaryService;
+    private final int batchSize;
+
+    public ItemBookingSummaryJobs(ItemBookingSummaryService summaryService,
+                                  @Value("${shareit.booking-summary.batch-size:500}") int batchSize) {
+        this.summaryService = summaryService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.sweep-delay:PT30S}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int refreshed = 0;
+        int batch;
+        do {
+            batch = summaryService.refreshStale(now, batchSize);
+            refreshed += batch;
+        } while (batch == batchSize);
+        if (refreshed > 0) log.debug("Пересчитано сводок бронирований: {}", refreshed);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.check-delay:PT1H}",
+            initialDelayString = "${shareit.booking-summary.check-delay:PT1H}")
+    public void check() {
+        LocalDateTime now = LocalDateTime.now();
+        long after = 0;
+        while (after >= 0) {
+            after = summaryService.check(after, now, batchSize);
+        }
+        log.info("Проверка сводок бронирований завершена");
+    }
+}
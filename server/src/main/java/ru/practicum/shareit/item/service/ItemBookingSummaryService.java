@@ -0,0 +1,119 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final Counter mismatches;
+
+    public ItemBookingSummaryService(ItemBookingSummaryRepository summaryRepository,
+                                     BookingRepository bookingRepository, ItemRepository itemRepository,
+                                     MeterRegistry meterRegistry) {
+        this.summaryRepository = summaryRepository;
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.mismatches = Counter.builder("shareit.booking-summary.mismatches").register(meterRegistry);
+    }
+
+    public ItemBookingSummary find(long itemId, LocalDateTime now) {
+        return summaryRepository.findById(itemId)
+                .filter(summary -> summary.isFreshAt(now))
+                .orElseGet(() -> compute(itemId, now));
+    }
+
+    public ItemBookingSummary compute(long itemId, LocalDateTime now) {
+        Optional<Booking> last = bookingRepository.getTopByItem_IdAndEndBeforeOrderByStartDesc(itemId, now);
+        Optional<Booking> next = bookingRepository.getTopByItem_IdAndStartAfterOrderByStartDesc(itemId, now);
+        LocalDateTime refreshAt = Stream.of(next.map(Booking::getStart),
+                        bookingRepository.findFirstEndAfter(itemId, now))
+                .flatMap(Optional::stream)
+                .min(LocalDateTime::compareTo)
+                .orElse(null);
+        return ItemBookingSummary.builder()
+                .itemId(itemId)
+                .lastBookingId(last.map(Booking::getId).orElse(null))
+                .lastBookerId(last.map(booking -> booking.getBooker().getId()).orElse(null))
+                .lastStart(last.map(Booking::getStart).orElse(null))
+                .lastEnd(last.map(Booking::getEnd).orElse(null))
+                .nextBookingId(next.map(Booking::getId).orElse(null))
+                .nextBookerId(next.map(booking -> booking.getBooker().getId()).orElse(null))
+                .nextStart(next.map(Booking::getStart).orElse(null))
+                .nextEnd(next.map(Booking::getEnd).orElse(null))
+                .refreshAt(refreshAt)
+                .build();
+    }
+
+    @Transactional
+    public void created(long itemId) {
+        summaryRepository.save(ItemBookingSummary.empty(itemId));
+    }
+
+    @Transactional
+    public void createdAll(Collection<Long> itemIds) {
+        summaryRepository.saveAll(itemIds.stream()
+                .map(ItemBookingSummary::empty)
+                .collect(Collectors.toList()));
+    }
+
+    @Transactional
+    public ItemBookingSummary refresh(long itemId, LocalDateTime now) {
+        return summaryRepository.save(compute(itemId, now));
+    }
+
+    @Transactional
+    public void refreshAll(Collection<Long> itemIds, LocalDateTime now) {
+        itemIds.forEach(itemId -> refresh(itemId, now));
+    }
+
+    @Transactional
+    public int refreshStale(LocalDateTime now, int limit) {
+        List<Long> itemIds = summaryRepository.findStaleItemIds(now, PageRequest.of(0, limit));
+        itemIds.forEach(itemId -> refresh(itemId, now));
+        return itemIds.size();
+    }
+
+    // Возвращает id последней проверенной вещи или -1, если проверять больше нечего.
+    @Transactional
+    public long check(long afterItemId, LocalDateTime now, int limit) {
+        List<Long> itemIds = itemRepository.findIdsAfter(afterItemId, PageRequest.of(0, limit));
+        if (itemIds.isEmpty()) return -1;
+        Map<Long, ItemBookingSummary> summaries = summaryRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        for (Long itemId : itemIds) {
+            ItemBookingSummary stored = summaries.get(itemId);
+            if (stored != null && !stored.isFreshAt(now)) continue;
+            ItemBookingSummary actual = compute(itemId, now);
+            if (!Objects.equals(stored, actual)) {
+                log.warn("Сводка бронирований вещи {} расходится с пересчётом: {} вместо {}", itemId, stored, actual);
+                mismatches.increment();
+                summaryRepository.save(actual);
+            }
+        }
+        return itemIds.get(itemIds.size() - 1);
+    }
+}
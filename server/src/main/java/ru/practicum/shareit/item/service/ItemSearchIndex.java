@@ -0,0 +1,244 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int MAX_GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.mode:like}") ItemSearchMode searchMode) {
+        this.itemRepository = itemRepository;
+        this.enabled = searchMode == ItemSearchMode.IN_MEMORY;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) return;
+        List<Item> items = itemRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            items.stream().map(ItemMapper::toItemDto).forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс построен, проиндексировано вещей: {}", items.size());
+    }
+
+    public void index(Item item) {
+        indexAll(List.of(item));
+    }
+
+    // Вещи попадают в индекс только после коммита, чтобы при откате поиск их не находил.
+    public void indexAll(Collection<Item> items) {
+        if (!enabled) return;
+        List<ItemDto> snapshot = items.stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+        afterCommit(() -> snapshot.forEach(item -> {
+            remove(toDocumentId(item.getId()));
+            add(item);
+        }));
+    }
+
+    public void removeByOwner(long ownerId) {
+        if (!enabled) return;
+        afterCommit(() -> documents.entrySet().stream()
+                .filter(entry -> entry.getValue().item.getOwner() == ownerId)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList())
+                .forEach(this::remove));
+    }
+
+    public List<ItemDto> search(String text, int from, int size) {
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            int[] candidates = findCandidates(query);
+            List<ItemDto> found = new ArrayList<>();
+            int skipped = 0;
+            for (int id : candidates) {
+                Document document = documents.get(id);
+                if (!document.item.getAvailable() || !document.contains(query)) continue;
+                if (skipped++ < from) continue;
+                found.add(document.item);
+                if (found.size() == size) break;
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private int[] findCandidates(String query) {
+        if (query.length() <= MAX_GRAM_LENGTH) return postingOf(query).toArray();
+
+        int[] candidates = null;
+        for (int i = 0; i + MAX_GRAM_LENGTH <= query.length(); i++) {
+            int[] ids = postingOf(query.substring(i, i + MAX_GRAM_LENGTH)).toArray();
+            candidates = candidates == null ? ids : PostingList.intersect(candidates, ids);
+            if (candidates.length == 0) break;
+        }
+        return candidates;
+    }
+
+    private PostingList postingOf(String gram) {
+        return postings.getOrDefault(gram, PostingList.EMPTY);
+    }
+
+    private void afterCommit(Runnable change) {
+        Runnable locked = () -> {
+            lock.writeLock().lock();
+            try {
+                change.run();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            locked.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                locked.run();
+            }
+        });
+    }
+
+    private void add(ItemDto item) {
+        Document document = new Document(item);
+        int id = toDocumentId(item.getId());
+        documents.put(id, document);
+        document.grams().forEach(gram -> postings.computeIfAbsent(gram, key -> new PostingList()).add(id));
+    }
+
+    private void remove(int id) {
+        Document document = documents.remove(id);
+        if (document == null) return;
+        for (String gram : document.grams()) {
+            PostingList posting = postings.get(gram);
+            posting.remove(id);
+            if (posting.isEmpty()) postings.remove(gram);
+        }
+    }
+
+    private static int toDocumentId(long itemId) {
+        return Math.toIntExact(itemId);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase();
+    }
+
+    private static class Document {
+        private final ItemDto item;
+        private final String name;
+        private final String description;
+
+        private Document(ItemDto item) {
+            this.item = item;
+            this.name = normalize(item.getName());
+            this.description = normalize(item.getDescription());
+        }
+
+        private boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            addGrams(name, grams);
+            addGrams(description, grams);
+            return grams;
+        }
+
+        private static void addGrams(String text, Set<String> grams) {
+            for (int length = 1; length <= MAX_GRAM_LENGTH; length++) {
+                for (int i = 0; i + length <= text.length(); i++) {
+                    grams.add(text.substring(i, i + length));
+                }
+            }
+        }
+    }
+
+    private static class PostingList {
+        private static final PostingList EMPTY = new PostingList();
+
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) return;
+            position = -position - 1;
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private void remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) return;
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private static int[] intersect(int[] first, int[] second) {
+            int[] result = new int[Math.min(first.length, second.length)];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < first.length && j < second.length) {
+                if (first[i] < second[j]) {
+                    i++;
+                } else if (first[i] > second[j]) {
+                    j++;
+                } else {
+                    result[k++] = first[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, k);
+        }
+    }
+}
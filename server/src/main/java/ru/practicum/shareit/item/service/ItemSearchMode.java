@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.service;
+
+public enum ItemSearchMode {
+    LIKE,
+    // Совпадение только с началом слова: "сипед" не найдёт "Велосипед", в отличие от LIKE.
+    FULL_TEXT,
+    IN_MEMORY
+}
@@ -1,15 +1,21 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
 import ru.practicum.shareit.item.dto.ItemDtoWithComments;
+import ru.practicum.shareit.pagination.Cursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemDto create(long userId, ItemDto item);
 
+    List<BatchResult<ItemDto>> createAll(long userId, List<ItemDto> items);
+
     ItemDto update(long userId, long itemId, ItemDto item);
 
     ItemDtoWithComments findById(long userId, long itemId);
@@ -18,5 +24,13 @@ public interface ItemService {
 
     List<ItemDtoWithBookings> findByOwner(long userId, int from, int size);
 
+    List<ItemDtoWithBookings> findByOwner(long userId, Cursor after, int size);
+
     CommentDto createComment(CommentDto commentDto, long userId, long itemId);
+
+    List<CommentDto> findComments(long itemId, int from, int size);
+
+    List<CommentDto> findComments(long itemId, Cursor after, int size);
+
+    List<AvailabilityDto> findAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,55 +1,74 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.CommentCache;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.exceptions.*;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
     private final RequestRepository requestRepository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex searchIndex;
+    private final ItemBookingSummaryService bookingSummaries;
+    private final EntityCache entityCache;
+    private final CommentCache commentCache;
+    private final ItemSearchMode searchMode;
 
     public ItemServiceImpl(RequestRepository requestRepository, ItemRepository itemRepository,
-                           UserRepository userRepository,
-                           CommentRepository commentRepository, BookingRepository bookingRepository) {
+                           CommentRepository commentRepository, BookingRepository bookingRepository,
+                           ItemSearchIndex searchIndex, ItemBookingSummaryService bookingSummaries,
+                           EntityCache entityCache, CommentCache commentCache,
+                           @Value("${shareit.search.mode:like}") ItemSearchMode searchMode) {
         this.requestRepository = requestRepository;
         this.itemRepository = itemRepository;
-        this.userRepository = userRepository;
         this.commentRepository = commentRepository;
         this.bookingRepository = bookingRepository;
+        this.searchIndex = searchIndex;
+        this.bookingSummaries = bookingSummaries;
+        this.entityCache = entityCache;
+        this.commentCache = commentCache;
+        this.searchMode = searchMode;
     }
 
     @Override
+    @Transactional
     public ItemDto create(long userId, ItemDto itemDto) {
-        checkIfUserExists(userId);
-        Item item = ItemMapper.toItem(itemDto, userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Пользователь с таким id не найден")));
+        Item item = ItemMapper.toItem(itemDto, entityCache.findUser(userId)
+                .orElseThrow(() -> new UserNotFoundException("Пользователь не найден")));
         if (itemDto.getRequestId() != null) {
             Request request = requestRepository.findById(itemDto.getRequestId())
                     .orElseThrow(() -> new RequestNotFoundException(String.format("Request with id=%s not found",
@@ -57,11 +76,57 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(request);
         }
         itemRepository.save(item);
+        bookingSummaries.created(item.getId());
+        searchIndex.index(item);
         log.info("Пользователь {} добавил новую вещь с id {}", userId, item.getId());
         return ItemMapper.toItemDto(item);
     }
 
     @Override
+    @Transactional
+    public List<BatchResult<ItemDto>> createAll(long userId, List<ItemDto> itemDtos) {
+        User owner = entityCache.findUser(userId)
+                .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Request> requests = requestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(Request::getId, request -> request));
+
+        List<BatchResult<ItemDto>> results = new ArrayList<>(Collections.nCopies(itemDtos.size(), null));
+        List<Item> items = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            Item item = ItemMapper.toItem(itemDto, owner);
+            if (itemDto.getRequestId() != null) {
+                Request request = requests.get(itemDto.getRequestId());
+                if (request == null) {
+                    results.set(i, BatchResult.failed(i, new RequestNotFoundException(
+                            String.format("Request with id=%s not found", itemDto.getRequestId()))));
+                    continue;
+                }
+                item.setRequest(request);
+            }
+            items.add(item);
+            indexes.add(i);
+        }
+
+        itemRepository.saveAll(items);
+        bookingSummaries.createdAll(items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList()));
+        searchIndex.indexAll(items);
+        for (int i = 0; i < items.size(); i++) {
+            results.set(indexes.get(i), BatchResult.ok(indexes.get(i), ItemMapper.toItemDto(items.get(i))));
+        }
+        log.info("Пользователь {} добавил {} новых вещей", userId, items.size());
+        return results;
+    }
+
+    @Override
+    @Transactional
     public ItemDto update(long userId, long itemId, ItemDto itemDto) {
         checkIfUserExists(userId);
         Item itemToUpdate = itemRepository.findById(itemId)
@@ -74,6 +139,8 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getDescription() != null) itemToUpdate.setDescription(itemDto.getDescription());
 
         itemRepository.save(itemToUpdate);
+        entityCache.evictItem(itemId);
+        searchIndex.index(itemToUpdate);
         log.info("Пользователь {} обновил информацию о вещи с id {}", userId, itemId);
         return ItemMapper.toItemDto(itemToUpdate);
     }
@@ -83,48 +150,91 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Вещь с таким id не найдена"));
 
-        List<CommentDto> comment = commentRepository.findCommentsByItem_Id(itemId).stream()
-                .map(CommentsMapper::toCommentDto)
-                .collect(Collectors.toList());
+        ItemComments comments = commentCache.findLatest(itemId);
 
-        return item.getOwner().getId() == userId ? ItemMapper.toItemDtoWithComments(item, getLastBooking(itemId),
-                getNextBooking(itemId), comment) : ItemMapper.toItemDtoWithComments(item, null, null, comment);
+        if (item.getOwner().getId() != userId) return ItemMapper.toItemDtoWithComments(item, null, null, comments);
+        ItemBookingSummary summary = bookingSummaries.find(itemId, LocalDateTime.now());
+        return ItemMapper.toItemDtoWithComments(item, BookingMapper.toLastBookingDto(summary),
+                BookingMapper.toNextBookingDto(summary), comments);
     }
 
     @Override
     public List<ItemDtoWithBookings> findByOwner(long userId, int from, int size) {
         Pageable pageable = Pagination.of(from, size, Sort.by("id").ascending());
-        return itemRepository.findItemsByOwnerId(userId, pageable).get()
-                .map(item -> ItemMapper.toItemDtoWithBookings(item, getLastBooking(item.getId()),
-                        getNextBooking(item.getId())))
+        return toItemDtoWithBookings(itemRepository.findWithBookingSummaryByOwnerId(userId, pageable).getContent());
+    }
+
+    @Override
+    public List<ItemDtoWithBookings> findByOwner(long userId, Cursor after, int size) {
+        Pageable pageable = Pagination.of(0, size, Sort.by("id").ascending());
+        return toItemDtoWithBookings(itemRepository.findWithBookingSummaryByOwnerIdAfter(userId, after.getId(),
+                pageable).getContent());
+    }
+
+    private List<ItemDtoWithBookings> toItemDtoWithBookings(List<ItemWithBookingSummary> items) {
+        if (items.isEmpty()) return new ArrayList<>();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> staleIds = items.stream()
+                .filter(item -> item.getSummary() == null || !item.getSummary().isFreshAt(now))
+                .map(item -> item.getItem().getId())
+                .collect(Collectors.toList());
+        Map<Long, BookingDto> lastBookings = new HashMap<>();
+        Map<Long, BookingDto> nextBookings = new HashMap<>();
+        if (!staleIds.isEmpty()) {
+            lastBookings.putAll(toBookingsByItemId(bookingRepository.findLastBookingsByItemIds(staleIds, now)));
+            nextBookings.putAll(toBookingsByItemId(bookingRepository.findNextBookingsByItemIds(staleIds, now)));
+        }
+        for (ItemWithBookingSummary item : items) {
+            ItemBookingSummary summary = item.getSummary();
+            if (summary == null || !summary.isFreshAt(now)) continue;
+            lastBookings.put(item.getItem().getId(), BookingMapper.toLastBookingDto(summary));
+            nextBookings.put(item.getItem().getId(), BookingMapper.toNextBookingDto(summary));
+        }
+
+        return items.stream()
+                .map(item -> ItemMapper.toItemDtoWithBookings(item.getItem(), lastBookings, nextBookings))
                 .collect(Collectors.toList());
     }
 
-    private ItemDtoWithBookings getItemWithBooking(long itemId) {
-        Item itemToFind = itemRepository.findById(itemId)
-                .orElseThrow(() -> new ItemNotFoundException("Вещь с таким id не найдена"));
-        return ItemMapper.toItemDtoWithBookings(itemToFind, getLastBooking(itemId), getNextBooking(itemId));
+    private Map<Long, BookingDto> toBookingsByItemId(List<BookingShortView> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(BookingShortView::getItemId, BookingMapper::toBookingDto));
     }
 
     @Override
     public List<ItemDto> searchText(String text, int from, int size) {
         if (text.isBlank() || text.isEmpty()) return new ArrayList<>();
         Pageable pageable = Pagination.of(from, size);
+        if (searchMode == ItemSearchMode.IN_MEMORY) return searchIndex.search(text, from, size);
+        if (searchMode == ItemSearchMode.FULL_TEXT) return searchFullText(text, pageable);
         return itemRepository.searchText(text, pageable).get()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    private List<ItemDto> searchFullText(String text, Pageable pageable) {
+        String query = Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        if (query.isEmpty()) return new ArrayList<>();
+        return itemRepository.searchFullText(query, pageable).get()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
     private void checkIfUserExists(long userId) {
-        if (!userRepository.existsById(userId))
+        if (!entityCache.userExists(userId))
             throw new UserNotFoundException("Пользователь не найден");
     }
 
     @Override
+    @Transactional
     public CommentDto createComment(CommentDto commentDto, long userId, long itemId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new ItemNotFoundException("Комментарий с таким id не найден"));
-        User creator = userRepository.findById(userId)
+        if (entityCache.findItemAccess(itemId).isEmpty())
+            throw new ItemNotFoundException("Комментарий с таким id не найден");
+        User creator = entityCache.findUser(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с таким id не найден"));
         Optional<Booking> booking = bookingRepository.getTopByItem_IdAndBooker_IdOrderByEndAsc(itemId, userId);
 
@@ -132,20 +242,52 @@ public class ItemServiceImpl implements ItemService {
             throw new BadRequestException("Этот пользователь не может оставить комментарий");
         commentDto.setCreated(LocalDateTime.now());
 
-        Comment comment = commentRepository.save(CommentsMapper.toComment(commentDto, item, creator));
+        Comment comment = commentRepository.save(CommentsMapper.toComment(commentDto,
+                itemRepository.getReferenceById(itemId), creator));
+        commentCache.evict(itemId);
         log.info("Пользователь с id={} добавил комментарий к вещи с id={}", userId, itemId);
         return CommentsMapper.toCommentDto(comment);
     }
 
-    private BookingDto getLastBooking(long itemId) {
-        Optional<Booking> lastBooking = bookingRepository.getTopByItem_IdAndEndBeforeOrderByStartDesc(itemId,
-                LocalDateTime.now());
-        return lastBooking.isEmpty() ? null : BookingMapper.toBookingDto(lastBooking.get());
+    @Override
+    public List<CommentDto> findComments(long itemId, int from, int size) {
+        checkIfItemExists(itemId);
+        return commentRepository.findAllByItemId(itemId, Pagination.of(from, size, CommentCache.NEWEST_FIRST))
+                .getContent();
     }
 
-    private BookingDto getNextBooking(long itemId) {
-        Optional<Booking> nextBooking = bookingRepository.getTopByItem_IdAndStartAfterOrderByStartDesc(itemId,
-                LocalDateTime.now());
-        return nextBooking.isEmpty() ? null : BookingMapper.toBookingDto(nextBooking.get());
+    @Override
+    public List<CommentDto> findComments(long itemId, Cursor after, int size) {
+        checkIfItemExists(itemId);
+        return commentRepository.findAllByItemIdAfterCursor(itemId, after.requireTime(), after.getId(),
+                Pagination.of(0, size, CommentCache.NEWEST_FIRST)).getContent();
+    }
+
+    private void checkIfItemExists(long itemId) {
+        if (entityCache.findItemAccess(itemId).isEmpty())
+            throw new ItemNotFoundException("Вещь с таким id не найдена");
+    }
+
+    @Override
+    public List<AvailabilityDto> findAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to))
+            throw new BadRequestException("Начало периода должно быть раньше его завершения");
+        if (!itemRepository.existsById(itemId))
+            throw new ItemNotFoundException("Вещь с таким id не найдена");
+
+        List<AvailabilityDto> windows = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        try (Stream<BookingPeriodView> periods = bookingRepository.streamBookedPeriods(itemId, from, to,
+                Status.ACTIVE)) {
+            for (BookingPeriodView period : (Iterable<BookingPeriodView>) periods::iterator) {
+                if (period.getStartDate().isAfter(freeFrom))
+                    windows.add(new AvailabilityDto(freeFrom, period.getStartDate()));
+                if (period.getEndDate().isAfter(freeFrom))
+                    freeFrom = period.getEndDate();
+            }
+        }
+        if (freeFrom.isBefore(to))
+            windows.add(new AvailabilityDto(freeFrom, to));
+        return windows;
     }
 }
\ No newline at end of file
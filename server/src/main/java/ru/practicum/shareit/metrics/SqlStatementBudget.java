@@ -0,0 +1,45 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.persistence.SqlStatementCounter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+@Component
+public class SqlStatementBudget implements HandlerInterceptor, WebMvcConfigurer {
+    private final Map<String, Integer> endpoints;
+    private final int defaultBudget;
+    private final boolean failOnExceed;
+
+    public SqlStatementBudget(@Value("#{${shareit.sql.budget.endpoints:{:}}}") Map<String, Integer> endpoints,
+                              @Value("${shareit.sql.budget.default:-1}") int defaultBudget,
+                              @Value("${shareit.sql.budget.mode:log}") String mode) {
+        this.endpoints = Map.copyOf(endpoints);
+        this.defaultBudget = defaultBudget;
+        this.failOnExceed = "fail".equalsIgnoreCase(mode);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) return true;
+        String endpoint = request.getMethod() + " " + pattern;
+        int budget = endpoints.getOrDefault(endpoint, defaultBudget);
+        if (budget >= 0) {
+            SqlStatementCounter.limit(endpoint, budget, failOnExceed);
+        }
+        return true;
+    }
+}
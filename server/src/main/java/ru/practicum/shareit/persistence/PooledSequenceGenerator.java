@@ -0,0 +1,38 @@
+package ru.practicum.shareit.persistence;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Map;
+import java.util.Properties;
+
+// Размер блока должен совпадать с INCREMENT BY последовательности в схеме.
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String NAME = "ru.practicum.shareit.persistence.PooledSequenceGenerator";
+    public static final String ALLOCATION_SIZE = "shareit.id.allocation-size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        String sequenceName = params.getProperty(SEQUENCE_PARAM);
+        int allocationSize = allocationSize(settings.get(ALLOCATION_SIZE + "." + sequenceName),
+                allocationSize(settings.get(ALLOCATION_SIZE), DEFAULT_ALLOCATION_SIZE));
+
+        params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        if (allocationSize > 1)
+            params.setProperty(OPT_PARAM, "pooled-lo");
+        super.configure(type, params, serviceRegistry);
+    }
+
+    private static int allocationSize(Object value, int defaultValue) {
+        if (value == null) return defaultValue;
+        int allocationSize = Integer.parseInt(value.toString().trim());
+        if (allocationSize < 1)
+            throw new MappingException("Размер блока идентификаторов должен быть положительным: " + value);
+        return allocationSize;
+    }
+}
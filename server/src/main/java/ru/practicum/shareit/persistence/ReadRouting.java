@@ -0,0 +1,29 @@
+package ru.practicum.shareit.persistence;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// После первой записи все чтения HTTP-запроса идут на основную базу (read-your-writes).
+public final class ReadRouting {
+    private static final ThreadLocal<AtomicBoolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static void begin(boolean primaryOnly) {
+        PRIMARY_ONLY.set(new AtomicBoolean(primaryOnly));
+    }
+
+    public static void end() {
+        PRIMARY_ONLY.remove();
+    }
+
+    public static void markWritten() {
+        AtomicBoolean state = PRIMARY_ONLY.get();
+        if (state != null) state.set(true);
+    }
+
+    public static boolean isPrimaryOnly() {
+        AtomicBoolean state = PRIMARY_ONLY.get();
+        return state != null && state.get();
+    }
+}
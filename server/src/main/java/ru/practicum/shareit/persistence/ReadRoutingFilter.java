@@ -0,0 +1,24 @@
+package ru.practicum.shareit.persistence;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public class ReadRoutingFilter extends OncePerRequestFilter {
+    public static final String READ_PRIMARY_HEADER = "X-Sharer-Read-Primary";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReadRouting.begin(Boolean.parseBoolean(request.getHeader(READ_PRIMARY_HEADER)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadRouting.end();
+        }
+    }
+}
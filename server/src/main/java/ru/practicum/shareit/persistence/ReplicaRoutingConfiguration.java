@@ -0,0 +1,97 @@
+package ru.practicum.shareit.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Configuration
+@ConditionalOnProperty("shareit.datasource.replica.urls")
+public class ReplicaRoutingConfiguration {
+    private final DataSourceProperties properties;
+
+    public ReplicaRoutingConfiguration(DataSourceProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(@Value("${shareit.datasource.primary.pool-size:10}") int poolSize) {
+        return pool(ReplicaRoutingDataSource.PRIMARY, properties.determineUrl(), properties.determineUsername(),
+                properties.determinePassword(), poolSize);
+    }
+
+    @Bean
+    public ReplicaPools replicaPools(@Value("${shareit.datasource.replica.urls}") List<String> urls,
+                                     @Value("${shareit.datasource.replica.username:}") String username,
+                                     @Value("${shareit.datasource.replica.password:}") String password,
+                                     @Value("${shareit.datasource.replica.pool-size:10}") int poolSize) {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            pools.put("replica-" + i, pool("replica-" + i, urls.get(i).trim(),
+                    username.isEmpty() ? properties.determineUsername() : username,
+                    username.isEmpty() ? properties.determinePassword() : password, poolSize));
+        }
+        return new ReplicaPools(pools);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPools replicaPools) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource,
+                new LinkedHashMap<>(replicaPools.getPools())));
+    }
+
+    @Bean
+    public MeterBinder replicaPoolMetrics(HikariDataSource primaryDataSource, ReplicaPools replicaPools) {
+        return registry -> Stream.concat(Stream.of(primaryDataSource), replicaPools.getPools().values().stream())
+                .filter(pool -> pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null)
+                .forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadRoutingFilter> readRoutingFilter() {
+        return new FilterRegistrationBean<>(new ReadRoutingFilter());
+    }
+
+    private HikariDataSource pool(String name, String url, String username, String password, int poolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(poolSize);
+        return dataSource;
+    }
+
+    public static class ReplicaPools implements AutoCloseable {
+        private final Map<String, HikariDataSource> pools;
+
+        ReplicaPools(Map<String, HikariDataSource> pools) {
+            this.pools = pools;
+        }
+
+        public Map<String, HikariDataSource> getPools() {
+            return pools;
+        }
+
+        @Override
+        public void close() {
+            pools.values().forEach(HikariDataSource::close);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.persistence;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Оборачивается в LazyConnectionDataSourceProxy, иначе соединение берётся до пометки транзакции read-only.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        this.replicas = List.copyOf(replicas.keySet());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive())
+            return PRIMARY;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReadRouting.markWritten();
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || ReadRouting.isPrimaryOnly())
+            return PRIMARY;
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import ru.practicum.shareit.errors.exceptions.SqlStatementBudgetExceededException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Считает только между begin() и end(); области вложенные, запрос учитывается во всех открытых.
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<Statements> STATEMENTS = new ThreadLocal<>();
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    public static void begin() {
+        STATEMENTS.set(new Statements(STATEMENTS.get()));
+    }
+
+    public static void limit(String endpoint, int budget, boolean failOnExceed) {
+        Statements statements = STATEMENTS.get();
+        if (statements == null) return;
+        statements.endpoint = endpoint;
+        statements.budget = budget;
+        statements.failOnExceed = failOnExceed;
+    }
+
+    public static int count() {
+        Statements statements = STATEMENTS.get();
+        return statements != null ? statements.count : 0;
+    }
+
+    public static Map<String, Integer> shapes() {
+        Statements statements = STATEMENTS.get();
+        return statements != null ? statements.getShapes() : Map.of();
+    }
+
+    public static Statements end() {
+        Statements statements = STATEMENTS.get();
+        if (statements == null) return new Statements(null);
+        if (statements.parent != null) {
+            STATEMENTS.set(statements.parent);
+        } else {
+            STATEMENTS.remove();
+        }
+        return statements;
+    }
+
+    // Одинаковые INSERT/UPDATE/DELETE уходят одним JDBC-пакетом, поэтому повторы ищутся только у чтений.
+    public static boolean isQuery(String shape) {
+        return shape.regionMatches(true, 0, "select", 0, 6) || shape.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    static String shape(String sql) {
+        return SPACES.matcher(IN_LIST.matcher(sql).replaceAll("(?)")).replaceAll(" ").trim();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Statements statements = STATEMENTS.get();
+        if (statements == null) return sql;
+        String shape = shape(sql);
+        for (Statements scope = statements; scope != null; scope = scope.parent) {
+            scope.record(shape);
+        }
+        return sql;
+    }
+
+    public static final class Statements {
+        private final Statements parent;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int count;
+        private String endpoint;
+        private int budget = -1;
+        private boolean failOnExceed;
+
+        private Statements(Statements parent) {
+            this.parent = parent;
+        }
+
+        private void record(String shape) {
+            count++;
+            shapes.merge(shape, 1, Integer::sum);
+            if (failOnExceed && isOverBudget()) {
+                throw new SqlStatementBudgetExceededException(String.format(
+                        "%s выполнил %d SQL-запросов при бюджете %d", endpoint, count, budget));
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public int getBudget() {
+            return budget;
+        }
+
+        public boolean isOverBudget() {
+            return budget >= 0 && count > budget;
+        }
+
+        public Map<String, Integer> getShapes() {
+            return Collections.unmodifiableMap(shapes);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestDtoItems;
 import ru.practicum.shareit.request.dto.RequestShortDto;
@@ -30,10 +32,15 @@ public class RequestController {
     }
 
     @GetMapping("/all")
-    public List<RequestDtoItems> findAllUsersRequests(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                      @RequestParam(value = "from") int from,
-                                                      @RequestParam(value = "size") int size) {
-        return requestService.findAllUsersRequests(userId, from, size);
+    public ResponseEntity<List<RequestDtoItems>> findAllUsersRequests(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(value = "from", required = false, defaultValue = "0") int from,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "after", required = false) String after) {
+        List<RequestDtoItems> requests = after == null ?
+                requestService.findAllUsersRequests(userId, from, size) :
+                requestService.findAllUsersRequests(userId, Cursor.decode(after), size);
+        return Cursor.withNextCursor(requests, size, request -> Cursor.of(request.getCreated(), request.getId()));
     }
 
     @GetMapping
@@ -7,6 +7,7 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class RequestMapper {
@@ -38,4 +39,8 @@ public class RequestMapper {
                         .collect(Collectors.toList()))
                 .build();
     }
-}
\ No newline at end of file
+
+    public static RequestDtoItems toRequestDtoItems(Request request, Map<Long, List<Item>> itemsByRequestId) {
+        return toRequestDtoItems(request, itemsByRequestId.getOrDefault(request.getId(), List.of()));
+    }
+}
@@ -7,11 +7,18 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.Request;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
     List<Request> findAllByUserIdOrderByCreationTimeDesc(long userId);
 
-    @Query(value = "select r from Request r where r.user.id <> :userId")
+    @Query(value = "select r from Request r join fetch r.user u where u.id <> :userId")
     Slice<Request> findAllOtherUsersRequests(@Param("userId") long userId, Pageable pageable);
+
+    @Query(value = "select r from Request r join fetch r.user u where u.id <> :userId and " +
+            "(r.creationTime < :created or (r.creationTime = :created and r.id < :id))")
+    Slice<Request> findAllOtherUsersRequestsAfterCursor(@Param("userId") long userId,
+                                                        @Param("created") LocalDateTime created,
+                                                        @Param("id") long id, Pageable pageable);
 }
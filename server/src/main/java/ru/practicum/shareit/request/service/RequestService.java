@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestDtoItems;
 import ru.practicum.shareit.request.dto.RequestShortDto;
@@ -13,5 +14,7 @@ public interface RequestService {
 
     List<RequestDtoItems> findAllUsersRequests(long userId, int from, int size);
 
+    List<RequestDtoItems> findAllUsersRequests(long userId, Cursor after, int size);
+
     RequestDtoItems findById(long userId, long requestId);
 }
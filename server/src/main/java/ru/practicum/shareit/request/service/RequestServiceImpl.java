@@ -4,9 +4,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.exceptions.RequestNotFoundException;
 import ru.practicum.shareit.errors.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestDtoItems;
@@ -15,29 +19,34 @@ import ru.practicum.shareit.request.dto.RequestShortDto;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class RequestServiceImpl implements RequestService {
+    private static final Sort SORTED_BY_DATE_DESC = Sort.by(Sort.Direction.DESC, "creationTime", "id");
+
     private final RequestRepository requestRepository;
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final EntityCache entityCache;
 
-    public RequestServiceImpl(RequestRepository requestRepository, UserRepository userRepository,
-                              ItemRepository itemRepository) {
+    public RequestServiceImpl(RequestRepository requestRepository, ItemRepository itemRepository,
+                              EntityCache entityCache) {
         this.requestRepository = requestRepository;
-        this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.entityCache = entityCache;
     }
 
     @Override
+    @Transactional
     public ItemRequestDto create(long userId, RequestShortDto requestShortDto) {
-        User user = userRepository.findById(userId)
+        User user = entityCache.findUser(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователя с таким id не существует"));
 
         return RequestMapper.toRequestDto(requestRepository.save(RequestMapper.toRequest(requestShortDto,
@@ -48,22 +57,22 @@ public class RequestServiceImpl implements RequestService {
     public List<RequestDtoItems> findByUserId(long userId) {
         checkUser(userId);
 
-        List<Request> requests = requestRepository.findAllByUserIdOrderByCreationTimeDesc(userId);
-
-        return requests.stream()
-                .map(request -> RequestMapper.toRequestDtoItems(request,
-                        itemRepository.findItemsByRequestId(request.getId())))
-                .collect(Collectors.toList());
+        return toRequestDtoItems(requestRepository.findAllByUserIdOrderByCreationTimeDesc(userId));
     }
 
     @Override
     public List<RequestDtoItems> findAllUsersRequests(long userId, int from, int size) {
-        Pageable sortedByDateDesc = Pagination.of(from, size, Sort.by("creationTime").descending());
+        Pageable sortedByDateDesc = Pagination.of(from, size, SORTED_BY_DATE_DESC);
 
-        return requestRepository.findAllOtherUsersRequests(userId, sortedByDateDesc).get()
-                .map(request -> RequestMapper.toRequestDtoItems(request,
-                        itemRepository.findItemsByRequestId(request.getId())))
-                .collect(Collectors.toList());
+        return toRequestDtoItems(requestRepository.findAllOtherUsersRequests(userId, sortedByDateDesc).getContent());
+    }
+
+    @Override
+    public List<RequestDtoItems> findAllUsersRequests(long userId, Cursor after, int size) {
+        Pageable sortedByDateDesc = Pagination.of(0, size, SORTED_BY_DATE_DESC);
+
+        return toRequestDtoItems(requestRepository.findAllOtherUsersRequestsAfterCursor(userId, after.requireTime(),
+                after.getId(), sortedByDateDesc).getContent());
     }
 
     @Override
@@ -75,8 +84,22 @@ public class RequestServiceImpl implements RequestService {
         return RequestMapper.toRequestDtoItems(request, itemRepository.findItemsByRequestId(requestId));
     }
 
+    private List<RequestDtoItems> toRequestDtoItems(List<Request> requests) {
+        if (requests.isEmpty()) return new ArrayList<>();
+
+        List<Long> requestIds = requests.stream()
+                .map(Request::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Item>> itemsByRequestId = itemRepository.findItemsByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+
+        return requests.stream()
+                .map(request -> RequestMapper.toRequestDtoItems(request, itemsByRequestId))
+                .collect(Collectors.toList());
+    }
+
     private void checkUser(long userId) {
-        if (!userRepository.existsById(userId))
+        if (!entityCache.userExists(userId))
             throw new UserNotFoundException("Пользователя с таким id не существует");
     }
 }
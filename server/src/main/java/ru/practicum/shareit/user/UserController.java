@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -23,6 +24,11 @@ public class UserController {
         return userService.create(user);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResult<UserDto>> createAll(@RequestBody List<UserDto> users) {
+        return userService.createAll(users);
+    }
+
     @PatchMapping(value = "/{id}")
     public UserDto update(@PathVariable Long id, @RequestBody UserDto user) {
         return userService.update(id, user);
@@ -1,8 +1,16 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsUserByEmail(String email);
+
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findEmailsIn(@Param("emails") Collection<String> emails);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -7,6 +8,8 @@ import java.util.List;
 public interface UserService {
     UserDto create(UserDto user);
 
+    List<BatchResult<UserDto>> createAll(List<UserDto> users);
+
     UserDto update(long id, UserDto user);
 
     void remove(long id);
@@ -3,27 +3,53 @@ package ru.practicum.shareit.user.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.CommentCache;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.exceptions.DuplicateEmailException;
 import ru.practicum.shareit.errors.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemBookingSummaryService bookingSummaries;
+    private final ItemSearchIndex searchIndex;
+    private final EntityCache entityCache;
+    private final CommentCache commentCache;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, BookingRepository bookingRepository,
+                           ItemBookingSummaryService bookingSummaries, ItemSearchIndex searchIndex,
+                           EntityCache entityCache, CommentCache commentCache) {
         this.userRepository = userRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingSummaries = bookingSummaries;
+        this.searchIndex = searchIndex;
+        this.entityCache = entityCache;
+        this.commentCache = commentCache;
     }
 
     @Override
+    @Transactional
     public UserDto create(UserDto userDto) {
         User user = userRepository.save(UserMapper.toUser(userDto));
         log.info("Пользователь с id {} добавлен", userDto.getId());
@@ -31,6 +57,36 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
+    public List<BatchResult<UserDto>> createAll(List<UserDto> userDtos) {
+        Set<String> takenEmails = new HashSet<>(userRepository.findEmailsIn(userDtos.stream()
+                .map(UserDto::getEmail)
+                .collect(Collectors.toSet())));
+
+        List<BatchResult<UserDto>> results = new ArrayList<>(Collections.nCopies(userDtos.size(), null));
+        List<User> users = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < userDtos.size(); i++) {
+            UserDto userDto = userDtos.get(i);
+            if (!takenEmails.add(userDto.getEmail())) {
+                results.set(i, BatchResult.failed(i,
+                        new DuplicateEmailException("Пользователь с таким Email уже зарегистрирован")));
+                continue;
+            }
+            users.add(UserMapper.toUser(userDto));
+            indexes.add(i);
+        }
+
+        userRepository.saveAll(users);
+        for (int i = 0; i < users.size(); i++) {
+            results.set(indexes.get(i), BatchResult.ok(indexes.get(i), UserMapper.userDto(users.get(i))));
+        }
+        log.info("Добавлено пользователей: {}", users.size());
+        return results;
+    }
+
+    @Override
+    @Transactional
     public UserDto update(long id, UserDto userDto) {
         User userToUpdate = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с таким id не найден"));
@@ -42,13 +98,23 @@ public class UserServiceImpl implements UserService {
             userToUpdate.setName(userDto.getName());
         }
         userRepository.save(userToUpdate);
+        entityCache.evictUser(id);
+        if (userDto.getName() != null) commentCache.clear();
         log.info("Пользователь успешно обновлён!");
         return UserMapper.userDto(userToUpdate);
     }
 
     @Override
+    @Transactional
     public void remove(long id) {
+        List<Long> bookedItemIds = bookingRepository.findItemIdsByBookerId(id);
         userRepository.deleteById(id);
+        userRepository.flush();
+        bookingSummaries.refreshAll(bookedItemIds, LocalDateTime.now());
+        searchIndex.removeByOwner(id);
+        entityCache.evictUser(id);
+        entityCache.evictItemsOwnedBy(id);
+        commentCache.clear();
         log.info("Пользователь с id {} удалён", id);
     }
 
@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS users, item_request, item, booking, comments;
-
 CREATE TABLE IF NOT EXISTS users (
   user_id int GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   user_name VARCHAR(50) NOT NULL,
@@ -46,4 +44,4 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT pk_comments PRIMARY KEY(comment_id),
     FOREIGN KEY(item_id) REFERENCES item(item_id) ON DELETE CASCADE,
     FOREIGN KEY(author_id) REFERENCES users(user_id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
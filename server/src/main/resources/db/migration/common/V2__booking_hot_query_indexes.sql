@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS idx_booking_booker_start ON booking (booker_id, start_date, booking_id);
+CREATE INDEX IF NOT EXISTS idx_booking_booker_status_start ON booking (booker_id, status, start_date, booking_id);
+CREATE INDEX IF NOT EXISTS idx_booking_item_start ON booking (item_id, start_date, booking_id);
+CREATE INDEX IF NOT EXISTS idx_booking_item_end ON booking (item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_booking_item_booker_end ON booking (item_id, booker_id, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_item_owner ON item (owner_id, item_id);
+CREATE INDEX IF NOT EXISTS idx_item_request ON item (request_id, item_id);
+
+CREATE INDEX IF NOT EXISTS idx_item_request_user_created ON item_request (user_id, creation_time);
+CREATE INDEX IF NOT EXISTS idx_item_request_created ON item_request (creation_time, request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id, created);
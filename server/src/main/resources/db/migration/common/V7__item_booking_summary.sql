@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+    item_id INT PRIMARY KEY NOT NULL,
+    last_booking_id INT,
+    last_booker_id INT,
+    last_start_date TIMESTAMP,
+    last_end_date TIMESTAMP,
+    next_booking_id INT,
+    next_booker_id INT,
+    next_start_date TIMESTAMP,
+    next_end_date TIMESTAMP,
+    refresh_at TIMESTAMP,
+    FOREIGN KEY(item_id) REFERENCES item(item_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_refresh ON item_booking_summary (refresh_at);
+
+-- Сводки существующих вещей помечаются устаревшими и пересчитываются фоновой задачей при первом запуске.
+INSERT INTO item_booking_summary (item_id, refresh_at)
+SELECT item_id, TIMESTAMP '1970-01-01 00:00:00' FROM item;
@@ -0,0 +1,3 @@
+-- Отзывы о вещи читаются страницами от новых к старым по ключу (created, comment_id).
+DROP INDEX IF EXISTS idx_comments_item;
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created, comment_id);
@@ -0,0 +1,19 @@
+CREATE SEQUENCE IF NOT EXISTS booking_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS booking_events (
+    event_id BIGINT PRIMARY KEY NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    booking_id INT NOT NULL,
+    item_id INT NOT NULL,
+    booker_id INT NOT NULL,
+    owner_id INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP,
+    dispatched_at TIMESTAMP,
+    last_error VARCHAR(400)
+);
+
+-- Ожидающие доставки события выбираются по времени следующей попытки, доставленные удаляются по dispatched_at.
+CREATE INDEX IF NOT EXISTS idx_booking_events_due ON booking_events (next_attempt_at, event_id);
+CREATE INDEX IF NOT EXISTS idx_booking_events_dispatched ON booking_events (dispatched_at);
@@ -0,0 +1,5 @@
+ALTER TABLE item ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    to_tsvector('simple', coalesce(item_name, '') || ' ' || coalesce(item_description, ''))
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_item_search_vector ON item USING GIN (search_vector);
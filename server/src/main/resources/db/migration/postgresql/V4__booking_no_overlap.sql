@@ -0,0 +1,21 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Пересекающиеся активные бронирования, созданные до ограничения, не дали бы его добавить. Из каждой пары
+-- пересекающихся бронирований одной вещи отклоняется более позднее: подтверждённое важнее ожидающего,
+-- при равном статусе раньше созданное важнее.
+UPDATE booking b SET status = 'REJECTED'
+WHERE b.status IN ('WAITING', 'APPROVED')
+  AND EXISTS (
+    SELECT 1 FROM booking o
+    WHERE o.item_id = b.item_id
+      AND o.booking_id <> b.booking_id
+      AND o.status IN ('WAITING', 'APPROVED')
+      AND tsrange(o.start_date, o.end_date, '[)') && tsrange(b.start_date, b.end_date, '[)')
+      AND (CASE WHEN o.status = 'APPROVED' THEN 0 ELSE 1 END, o.booking_id)
+        < (CASE WHEN b.status = 'APPROVED' THEN 0 ELSE 1 END, b.booking_id)
+  );
+
+ALTER TABLE booking ADD CONSTRAINT booking_no_overlap EXCLUDE USING gist (
+    item_id WITH =,
+    tsrange(start_date, end_date, '[)') WITH &&
+) WHERE (status IN ('WAITING', 'APPROVED'));
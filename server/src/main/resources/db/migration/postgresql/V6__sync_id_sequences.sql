@@ -0,0 +1,5 @@
+SELECT setval('users_seq', coalesce((SELECT max(user_id) FROM users), 0) + 1, false);
+SELECT setval('item_request_seq', coalesce((SELECT max(request_id) FROM item_request), 0) + 1, false);
+SELECT setval('item_seq', coalesce((SELECT max(item_id) FROM item), 0) + 1, false);
+SELECT setval('booking_seq', coalesce((SELECT max(booking_id) FROM booking), 0) + 1, false);
+SELECT setval('comments_seq', coalesce((SELECT max(comment_id) FROM comments), 0) + 1, false);
@@ -0,0 +1,34 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import ru.practicum.shareit.persistence.SqlStatementCounter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Считает SQL-запросы теста в текущем потоке, включая запросы через MockMvc.
+public class SqlStatementsExtension implements BeforeEachCallback, AfterEachCallback {
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        SqlStatementCounter.begin();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SqlStatementCounter.end();
+    }
+
+    public void reset() {
+        SqlStatementCounter.end();
+        SqlStatementCounter.begin();
+    }
+
+    public int count() {
+        return SqlStatementCounter.count();
+    }
+
+    public void assertCount(int expected) {
+        assertEquals(expected, count(), () -> "Выполненные SQL-запросы: " + SqlStatementCounter.shapes());
+    }
+}
@@ -6,9 +6,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.mockito.Mockito;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
@@ -16,21 +18,30 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.dto.BookingStartDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.ErrorHandler;
 import ru.practicum.shareit.errors.exceptions.BadRequestException;
 import ru.practicum.shareit.errors.exceptions.BookingNotFoundException;
+import ru.practicum.shareit.errors.exceptions.IllegalPaginationException;
 import ru.practicum.shareit.errors.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.errors.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.request.dto.RequestShortDto;
+import ru.practicum.shareit.request.service.RequestService;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -45,12 +56,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureTestDatabase
 @Sql({"/schema.sql"})
 class BookingControllerTests {
+    @Autowired
+    private EntityCache entityCache;
     @Autowired
     private BookingController bookingController;
     @Autowired
     private ItemController itemController;
     @Autowired
     private UserController userController;
+    @Autowired
+    private RequestService requestService;
     private static UserDto owner;
     private static ItemDto itemDto;
     private MockMvc mockMvc;
@@ -73,6 +88,7 @@ class BookingControllerTests {
 
     @BeforeEach
     void beforeEach() {
+        entityCache.clear();
         mockMvc = MockMvcBuilders
                 .standaloneSetup(itemController, userController, bookingController)
                 .setControllerAdvice(new ErrorHandler())
@@ -247,6 +263,38 @@ class BookingControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("status").value("APPROVED"));
     }
 
+    @Test
+    void updateBatchApprovesOnlyNonOverlappingBookings() throws Exception {
+        createUser(owner);
+        createItem(itemDto);
+        UserDto booker = UserDto.builder()
+                .name("арендатор")
+                .email("bookertest@ya.ru")
+                .build();
+        createUser(booker);
+        BookingStartDto bookingStartDto = BookingStartDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+        postBooking(bookingStartDto, 2L);
+        bookingStartDto.setStart(LocalDateTime.now().plusDays(3));
+        bookingStartDto.setEnd(LocalDateTime.now().plusDays(4));
+        postBooking(bookingStartDto, 2L);
+
+        mockMvc.perform(patch("/bookings/batch?approved=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(List.of(1L, 2L, 1L, 99L))))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].result.status").value("APPROVED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].status").value(400))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].error").value("Нельзя изменить статус"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].status").value(404));
+    }
+
     @Test
     void findBookingByIdAndStatusIsOk() throws Exception {
         createUser(owner);
@@ -550,6 +598,113 @@ class BookingControllerTests {
                         Objects.requireNonNull(result.getResolvedException()).getMessage()));
     }
 
+    @Test
+    void getUserBookingsAfterCursorReturnsNextPage() throws Exception {
+        createUser(owner);
+        createItem(itemDto);
+
+        UserDto booker = UserDto.builder()
+                .name("арендатор")
+                .email("bookertest@ya.ru")
+                .build();
+        createUser(booker);
+
+        for (int i = 1; i <= 3; i++) {
+            postBooking(BookingStartDto.builder()
+                    .itemId(1L)
+                    .start(LocalDateTime.now().plusDays(i))
+                    .end(LocalDateTime.now().plusDays(i).plusHours(1))
+                    .build(), 2L);
+        }
+
+        String cursor = mockMvc.perform(get("/bookings?state=ALL&size=2")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("3"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value("2"))
+                .andReturn()
+                .getResponse()
+                .getHeader(Cursor.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/bookings?state=ALL&size=2&after=" + cursor)
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("1"))
+                .andExpect(result -> assertNull(result.getResponse().getHeader(Cursor.NEXT_CURSOR_HEADER)));
+    }
+
+    @Test
+    void getUserBookingsWithMalformedCursorStatusIsBadRequest() throws Exception {
+        createUser(owner);
+
+        mockMvc.perform(get("/bookings?state=ALL&size=2&after=???")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof IllegalPaginationException))
+                .andExpect(result -> assertEquals("Некорректное значение параметра after",
+                        Objects.requireNonNull(result.getResolvedException()).getMessage()));
+    }
+
+    @Test
+    void bookingExclusionViolationAndStatusIsConflict() throws Exception {
+        BookingService bookingService = Mockito.mock(BookingService.class);
+        Mockito.when(bookingService.create(Mockito.eq(2L), Mockito.any(BookingStartDto.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+        MockMvc mockedMvc = MockMvcBuilders
+                .standaloneSetup(new BookingController(bookingService))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+
+        mockedMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2L)
+                        .content(mapper.writeValueAsString(BookingStartDto.builder()
+                                .itemId(1L)
+                                .start(LocalDateTime.now().plusDays(1))
+                                .end(LocalDateTime.now().plusDays(2))
+                                .build())))
+                .andExpect(status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("error").value("Вещь уже забронирована на это время"));
+    }
+
+    @Test
+    void bookingListKeepsNestedOwnerAndRequest() throws Exception {
+        createUser(owner);
+        UserDto booker = UserDto.builder()
+                .name("арендатор")
+                .email("bookertest@ya.ru")
+                .build();
+        createUser(booker);
+        long requestId = requestService.create(2L, new RequestShortDto(null, "Нужен велосипед")).getId();
+        createItem(ItemDto.builder()
+                .available(true)
+                .name("велосипед")
+                .description("горный скоростной")
+                .requestId(requestId)
+                .build());
+        postBooking(BookingStartDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusHours(2))
+                .end(LocalDateTime.now().plusHours(3))
+                .build(), 2L);
+
+        mockMvc.perform(get("/bookings?state=ALL&size=10")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.owner.id").value("1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.owner.name").value("Тестировщик"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.owner.email").value("test@ya.ru"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.request.id").value(requestId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.request.description")
+                        .value("Нужен велосипед"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.request.user.id").value("2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.request.creationTime").exists())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].booker.email").value("bookertest@ya.ru"));
+    }
+
     private void createItem(ItemDto itemDto) throws Exception {
         mockMvc.perform(post("/items")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -16,18 +16,24 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.dto.BookingStartDto;
+import ru.practicum.shareit.cache.CommentCache;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.ErrorHandler;
+import ru.practicum.shareit.errors.exceptions.BadRequestException;
 import ru.practicum.shareit.errors.exceptions.IllegalPaginationException;
 import ru.practicum.shareit.errors.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.errors.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -45,6 +51,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureTestDatabase
 @Sql({"/schema.sql"})
 class ItemControllerTests {
+    @Autowired
+    private EntityCache entityCache;
+    @Autowired
+    private CommentCache commentCache;
     @Autowired
     private BookingController bookingController;
     @Autowired
@@ -73,6 +83,8 @@ class ItemControllerTests {
 
     @BeforeEach
     void beforeEach() {
+        entityCache.clear();
+        commentCache.clear();
         mockMvc = MockMvcBuilders
                 .standaloneSetup(itemController, userController, bookingController)
                 .setControllerAdvice(new ErrorHandler())
@@ -96,6 +108,32 @@ class ItemControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("description").value("горный скоростной"));
     }
 
+    @Test
+    void createItemsBatchWithMissingRequestReturnsPerItemResults() throws Exception {
+        createUser(owner);
+        ItemDto withMissingRequest = ItemDto.builder()
+                .available(true)
+                .name("палатка")
+                .description("четырёхместная")
+                .requestId(99L)
+                .build();
+
+        mockMvc.perform(post("/items/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(List.of(itemDto, withMissingRequest, itemDto))))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].result.id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].index").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value(404))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].error").value("Request with id=99 not found"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].result.id").value(2));
+    }
+
     @Test
     void createItemByUserDoesNotExistsAndStatusIsNotFound() throws Exception {
         mockMvc.perform(post("/items")
@@ -173,6 +211,17 @@ class ItemControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("id").value("1"))
                 .andExpect(MockMvcResultMatchers.jsonPath("text").value("велосипед понравился"))
                 .andExpect(MockMvcResultMatchers.jsonPath("created").exists());
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("commentCount").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("comments[0].authorName").value("арендатор"));
+        mockMvc.perform(get("/items/1/comments")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].text").value("велосипед понравился"))
+                .andExpect(MockMvcResultMatchers.header().exists(Cursor.NEXT_CURSOR_HEADER));
     }
 
     @Test
@@ -292,6 +341,13 @@ class ItemControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("available").value(true));
     }
 
+    @Test
+    void getCommentsOfMissingItemAndStatusIsNotFound() throws Exception {
+        mockMvc.perform(get("/items/100/comments")
+                        .param("size", "10"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getByItemDoestNotExistsAndStatusNotFound() throws Exception {
         createUser(owner);
@@ -339,6 +395,43 @@ class ItemControllerTests {
                         Objects.requireNonNull(result.getResolvedException()).getMessage()));
     }
 
+    @Test
+    void getItemAvailabilityReturnsWindowsAroundBooking() throws Exception {
+        LocalDateTime from = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        createUser(owner);
+        createItem(itemDto, 1L);
+        createUser(UserDto.builder()
+                .name("арендатор")
+                .email("booker@ya.ru")
+                .build());
+        postBooking(BookingStartDto.builder()
+                .itemId(1L)
+                .start(from.plusDays(1))
+                .end(from.plusDays(2))
+                .build());
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(5).toString()))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void getItemAvailabilityWithEmptyPeriodAndStatusIsBadRequest() throws Exception {
+        LocalDateTime from = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        createUser(owner);
+        createItem(itemDto, 1L);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", from.toString())
+                        .param("to", from.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof BadRequestException))
+                .andExpect(result -> assertEquals("Начало периода должно быть раньше его завершения",
+                        Objects.requireNonNull(result.getResolvedException()).getMessage()));
+    }
+
     private void createItem(ItemDto itemDto, long userId) throws Exception {
         mockMvc.perform(post("/items")
                         .contentType(MediaType.APPLICATION_JSON)
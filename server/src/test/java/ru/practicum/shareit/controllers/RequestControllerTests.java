@@ -14,6 +14,7 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.ErrorHandler;
 import ru.practicum.shareit.errors.exceptions.IllegalPaginationException;
 import ru.practicum.shareit.errors.exceptions.RequestNotFoundException;
@@ -43,6 +44,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureTestDatabase
 @Sql({"/schema.sql"})
 class RequestControllerTests {
+    @Autowired
+    private EntityCache entityCache;
     @Autowired
     private RequestController requestController;
     @Autowired
@@ -68,6 +71,7 @@ class RequestControllerTests {
 
     @BeforeEach
     void beforeEach() {
+        entityCache.clear();
         mockMvc = MockMvcBuilders
                 .standaloneSetup(itemController, userController, requestController)
                 .setControllerAdvice(new ErrorHandler())
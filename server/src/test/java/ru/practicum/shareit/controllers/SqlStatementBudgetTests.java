@@ -0,0 +1,189 @@
+package ru.practicum.shareit.controllers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.NestedServletException;
+import ru.practicum.shareit.SqlStatementsExtension;
+import ru.practicum.shareit.booking.dto.BookingStartDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.cache.EntityCache;
+import ru.practicum.shareit.errors.exceptions.SqlStatementBudgetExceededException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.SqlStatementHeaderAdvice;
+import ru.practicum.shareit.metrics.SqlStatementMetricsFilter;
+import ru.practicum.shareit.request.dto.RequestShortDto;
+import ru.practicum.shareit.request.service.RequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "db.name=test",
+        "shareit.sql.budget.mode=fail",
+        "shareit.sql.budget.endpoints={'GET /users/{id}': 0}",
+        "shareit.sql.repeated-threshold=5",
+        "shareit.sql.statements-header=true"
+})
+@AutoConfigureMockMvc
+@Sql({"/schema.sql"})
+class SqlStatementBudgetTests {
+    @RegisterExtension
+    final SqlStatementsExtension sql = new SqlStatementsExtension();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EntityCache entityCache;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private RequestService requestService;
+    @Autowired
+    private BookingService bookingService;
+
+    private long ownerId;
+    private long bookerId;
+    private long itemId;
+
+    @BeforeEach
+    void beforeEach() {
+        ownerId = userService.create(new UserDto(null, "Владелец", "owner@ya.ru")).getId();
+        bookerId = userService.create(new UserDto(null, "Арендатор", "booker@ya.ru")).getId();
+        long requestId = requestService.create(bookerId, new RequestShortDto(null, "Нужна дрель")).getId();
+        for (int i = 0; i < 3; i++) {
+            long id = itemService.create(ownerId, ItemDto.builder()
+                    .name("Дрель " + i)
+                    .description("Ударная")
+                    .available(true)
+                    .requestId(requestId)
+                    .build()).getId();
+            bookingService.create(bookerId, BookingStartDto.builder()
+                    .itemId(id)
+                    .start(LocalDateTime.now().plusDays(i + 1))
+                    .end(LocalDateTime.now().plusDays(i + 2))
+                    .build());
+            itemId = id;
+        }
+        entityCache.clear();
+        sql.reset();
+    }
+
+    @Test
+    void endpointStatementCounts() throws Exception {
+        assertStatements("/items/" + itemId, ownerId, 3);
+        assertStatements("/items?from=0&size=10", ownerId, 1);
+        assertStatements("/requests", bookerId, 3);
+        assertStatements("/requests/all?from=0&size=10", ownerId, 2);
+        assertStatements("/bookings?state=ALL&from=0&size=10", bookerId, 2);
+        assertStatements("/bookings/owner?state=ALL&from=0&size=10", ownerId, 2);
+        assertStatements("/users", ownerId, 1);
+    }
+
+    @Test
+    void statementCountIsReturnedInHeader() throws Exception {
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementHeaderAdvice.HEADER, "1"));
+    }
+
+    @Test
+    void endpointOverBudgetFails() {
+        NestedServletException e = assertThrows(NestedServletException.class,
+                () -> mockMvc.perform(get("/users/" + ownerId)));
+
+        assertThat(e.getCause(), instanceOf(SqlStatementBudgetExceededException.class));
+    }
+
+    @Test
+    void repeatedQueriesAreReported() throws Exception {
+        mockMvc.perform(get("/test/repeated-lookups")
+                        .header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk());
+
+        Counter repeated = meterRegistry.find(SqlStatementMetricsFilter.REPEATED_METRIC)
+                .tags("method", "GET", "uri", "/test/repeated-lookups")
+                .counter();
+        assertThat(repeated, notNullValue());
+    }
+
+    @Test
+    void batchInsertsAreNotReportedAsRepeated() throws Exception {
+        String items = "[" + String.join(",", Collections.nCopies(5,
+                "{\"name\":\"Шуруповёрт\",\"description\":\"Аккумуляторный\",\"available\":true}")) + "]";
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(items))
+                .andExpect(status().isOk());
+
+        Counter repeated = meterRegistry.find(SqlStatementMetricsFilter.REPEATED_METRIC)
+                .tags("method", "POST", "uri", "/items/batch")
+                .counter();
+        assertThat(repeated, nullValue());
+    }
+
+    private void assertStatements(String uri, long userId, int expected) throws Exception {
+        entityCache.clear();
+        sql.reset();
+        mockMvc.perform(get(uri).header("X-Sharer-User-Id", userId)).andExpect(status().isOk());
+        sql.assertCount(expected);
+    }
+
+    @TestConfiguration
+    static class RepeatedLookupConfiguration {
+        @Bean
+        RepeatedLookupController repeatedLookupController(UserRepository userRepository) {
+            return new RepeatedLookupController(userRepository);
+        }
+    }
+
+    // Типичный N+1: пользователь проверяется отдельным запросом на каждой итерации.
+    @RestController
+    @RequiredArgsConstructor
+    static class RepeatedLookupController {
+        private final UserRepository userRepository;
+
+        @GetMapping("/test/repeated-lookups")
+        public int lookUp(@RequestHeader("X-Sharer-User-Id") long userId) {
+            int found = 0;
+            for (int i = 0; i < 5; i++) {
+                if (userRepository.existsById(userId)) found++;
+            }
+            return found;
+        }
+    }
+}
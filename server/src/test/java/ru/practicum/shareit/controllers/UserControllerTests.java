@@ -12,12 +12,14 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.ErrorHandler;
 import ru.practicum.shareit.errors.exceptions.DuplicateEmailException;
 import ru.practicum.shareit.errors.exceptions.UserNotFoundException;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -35,6 +37,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureTestDatabase
 @Sql({"/schema.sql"})
 class UserControllerTests {
+    @Autowired
+    private EntityCache entityCache;
     @Autowired
     private UserController userController;
     private final ObjectMapper mapper = new ObjectMapper();
@@ -51,6 +55,7 @@ class UserControllerTests {
 
     @BeforeEach
     void beforeEach() {
+        entityCache.clear();
         mockMvc = MockMvcBuilders
                 .standaloneSetup(userController)
                 .setControllerAdvice(new ErrorHandler())
@@ -68,6 +73,26 @@ class UserControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("email").value("test@ya.ru"));
     }
 
+    @Test
+    void createUsersBatchWithDuplicateEmailsReturnsPerUserResults() throws Exception {
+        createUser(userDto);
+        UserDto irina = UserDto.builder()
+                .name("Ирина")
+                .email("irina@ya.ru")
+                .build();
+
+        mockMvc.perform(post("/users/batch")
+                        .contentType("application/json")
+                        .content(mapper.writeValueAsString(List.of(irina, userDto, irina))))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].result.id").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value(409))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].status").value(409))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].error")
+                        .value("Пользователь с таким Email уже зарегистрирован"));
+    }
+
     @Test
     void updateUserStatusIsOk() throws Exception {
         createUser(userDto);
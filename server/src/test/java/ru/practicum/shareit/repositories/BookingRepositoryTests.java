@@ -5,6 +5,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingFinishDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -13,6 +18,10 @@ import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -51,15 +60,15 @@ class BookingRepositoryTests {
                 .booker(booker)
                 .item(itemOne)
                 .status(Status.WAITING)
-                .start(LocalDateTime.now().plusSeconds(2))
-                .end(LocalDateTime.now().plusSeconds(3))
+                .start(now().plusSeconds(2))
+                .end(now().plusSeconds(3))
                 .build();
         Booking bookingTwo = Booking.builder()
                 .booker(booker)
                 .item(itemTwo)
                 .status(Status.WAITING)
-                .start(LocalDateTime.now().plusSeconds(2))
-                .end(LocalDateTime.now().plusHours(7))
+                .start(now().plusSeconds(2))
+                .end(now().plusHours(7))
                 .build();
 
         tem.persist(owner);
@@ -70,10 +79,10 @@ class BookingRepositoryTests {
         tem.persist(bookingTwo);
         Thread.sleep(5000L);
 
-        Slice<Booking> bookings = bookingRepository.findAllByBookerId(booker.getId(), LocalDateTime.now(),
+        Slice<BookingFinishDto> bookings = bookingRepository.findAllByBookerId(booker.getId(), now(),
                 Pagination.of(0, 5));
         assertEquals(1, bookings.getContent().size());
-        assertThat(bookings.getContent().get(0), equalTo(bookingTwo));
+        assertThat(bookings.getContent().get(0), equalTo(BookingMapper.toBookingFinishDto(bookingTwo)));
     }
 
     @Test
@@ -106,15 +115,15 @@ class BookingRepositoryTests {
                 .booker(booker)
                 .item(itemOne)
                 .status(Status.WAITING)
-                .start(LocalDateTime.now().plusHours(2))
-                .end(LocalDateTime.now().plusHours(4))
+                .start(now().plusHours(2))
+                .end(now().plusHours(4))
                 .build();
         Booking bookingTwo = Booking.builder()
                 .booker(booker)
                 .item(itemTwo)
                 .status(Status.WAITING)
-                .start(LocalDateTime.now().plusHours(5))
-                .end(LocalDateTime.now().plusHours(7))
+                .start(now().plusHours(5))
+                .end(now().plusHours(7))
                 .build();
 
         tem.persist(owner);
@@ -124,9 +133,9 @@ class BookingRepositoryTests {
         tem.persist(itemTwo);
         tem.persist(bookingOne);
         tem.persist(bookingTwo);
-        Slice<Booking> bookingsList = bookingRepository.findAllByOwnerId(owner.getId(), Pagination.of(0, 5));
+        Slice<BookingFinishDto> bookingsList = bookingRepository.findAllByOwnerId(owner.getId(), Pagination.of(0, 5));
         assertEquals(1, bookingsList.getContent().size());
-        assertThat(bookingsList.getContent().get(0), equalTo(bookingOne));
+        assertThat(bookingsList.getContent().get(0), equalTo(BookingMapper.toBookingFinishDto(bookingOne)));
     }
 
     @Test
@@ -155,15 +164,15 @@ class BookingRepositoryTests {
                 .booker(booker)
                 .item(itemOne)
                 .status(Status.WAITING)
-                .start(LocalDateTime.now().plusSeconds(2))
-                .end(LocalDateTime.now().plusSeconds(3))
+                .start(now().plusSeconds(2))
+                .end(now().plusSeconds(3))
                 .build();
         Booking bookingTwo = Booking.builder()
                 .booker(booker)
                 .item(itemTwo)
                 .status(Status.WAITING)
-                .start(LocalDateTime.now().plusSeconds(2))
-                .end(LocalDateTime.now().plusSeconds(3))
+                .start(now().plusSeconds(2))
+                .end(now().plusSeconds(3))
                 .build();
 
         tem.persist(owner);
@@ -173,11 +182,11 @@ class BookingRepositoryTests {
         tem.persist(bookingOne);
         tem.persist(bookingTwo);
         Thread.sleep(5000L);
-        Slice<Booking> bookingsList = bookingRepository.getAllPastByOwnerId(owner.getId(), LocalDateTime.now(),
+        Slice<BookingFinishDto> bookingsList = bookingRepository.getAllPastByOwnerId(owner.getId(), now(),
                 Pagination.of(0, 5));
         assertEquals(2, bookingsList.getContent().size());
-        assertThat(bookingsList.getContent().get(0), equalTo(bookingOne));
-        assertThat(bookingsList.getContent().get(1), equalTo(bookingTwo));
+        assertThat(bookingsList.getContent().get(0), equalTo(BookingMapper.toBookingFinishDto(bookingOne)));
+        assertThat(bookingsList.getContent().get(1), equalTo(BookingMapper.toBookingFinishDto(bookingTwo)));
     }
 
     @Test
@@ -206,15 +215,15 @@ class BookingRepositoryTests {
                 .booker(booker)
                 .item(itemOne)
                 .status(Status.WAITING)
-                .start(LocalDateTime.now().plusSeconds(2))
-                .end(LocalDateTime.now().plusSeconds(3))
+                .start(now().plusSeconds(2))
+                .end(now().plusSeconds(3))
                 .build();
         Booking bookingTwo = Booking.builder()
                 .booker(booker)
                 .item(itemTwo)
                 .status(Status.WAITING)
-                .start(LocalDateTime.now().plusSeconds(2))
-                .end(LocalDateTime.now().plusHours(7))
+                .start(now().plusSeconds(2))
+                .end(now().plusHours(7))
                 .build();
 
         tem.persist(owner);
@@ -224,10 +233,10 @@ class BookingRepositoryTests {
         tem.persist(bookingOne);
         tem.persist(bookingTwo);
         Thread.sleep(3000L);
-        Slice<Booking> bookings = bookingRepository.findAllCurrentByOwnerId(owner.getId(), LocalDateTime.now(),
+        Slice<BookingFinishDto> bookings = bookingRepository.findAllCurrentByOwnerId(owner.getId(), now(),
                 Pagination.of(0, 5));
         assertEquals(1, bookings.getContent().size());
-        assertThat(bookings.getContent().get(0), equalTo(bookingTwo));
+        assertThat(bookings.getContent().get(0), equalTo(BookingMapper.toBookingFinishDto(bookingTwo)));
     }
 
     @Test
@@ -256,15 +265,15 @@ class BookingRepositoryTests {
                 .booker(booker)
                 .item(itemOne)
                 .status(Status.WAITING)
-                .start(LocalDateTime.now().plusHours(3))
-                .end(LocalDateTime.now().plusHours(7))
+                .start(now().plusHours(3))
+                .end(now().plusHours(7))
                 .build();
         Booking bookingTwo = Booking.builder()
                 .booker(booker)
                 .item(itemTwo)
                 .status(Status.WAITING)
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
 
         tem.persist(owner);
@@ -273,11 +282,11 @@ class BookingRepositoryTests {
         tem.persist(itemTwo);
         tem.persist(bookingOne);
         tem.persist(bookingTwo);
-        Slice<Booking> bookingsList = bookingRepository.findAllFutureByOwnerId(owner.getId(), LocalDateTime.now(),
+        Slice<BookingFinishDto> bookingsList = bookingRepository.findAllFutureByOwnerId(owner.getId(), now(),
                 Pagination.of(0, 5));
         assertEquals(2, bookingsList.getContent().size());
-        assertThat(bookingsList.getContent().get(0), equalTo(bookingOne));
-        assertThat(bookingsList.getContent().get(1), equalTo(bookingTwo));
+        assertThat(bookingsList.getContent().get(0), equalTo(BookingMapper.toBookingFinishDto(bookingOne)));
+        assertThat(bookingsList.getContent().get(1), equalTo(BookingMapper.toBookingFinishDto(bookingTwo)));
     }
 
     @Test
@@ -306,15 +315,15 @@ class BookingRepositoryTests {
                 .booker(booker)
                 .item(itemOne)
                 .status(Status.REJECTED)
-                .start(LocalDateTime.now().plusHours(3))
-                .end(LocalDateTime.now().plusHours(7))
+                .start(now().plusHours(3))
+                .end(now().plusHours(7))
                 .build();
         Booking bookingTwo = Booking.builder()
                 .booker(booker)
                 .item(itemTwo)
                 .status(Status.WAITING)
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
 
         tem.persist(owner);
@@ -323,9 +332,203 @@ class BookingRepositoryTests {
         tem.persist(itemTwo);
         tem.persist(bookingOne);
         tem.persist(bookingTwo);
-        Slice<Booking> bookingsList = bookingRepository.findAllByOwnerIdAndStatus(owner.getId(), Status.REJECTED,
+        Slice<BookingFinishDto> bookingsList = bookingRepository.findAllByOwnerIdAndStatus(owner.getId(), Status.REJECTED,
                 Pagination.of(0, 5));
         assertEquals(1, bookingsList.getContent().size());
-        assertThat(bookingsList.getContent().get(0), equalTo(bookingOne));
+        assertThat(bookingsList.getContent().get(0), equalTo(BookingMapper.toBookingFinishDto(bookingOne)));
+    }
+
+    @Test
+    void findLastAndNextBookingsByItemIds() {
+        LocalDateTime now = now().truncatedTo(ChronoUnit.SECONDS);
+        User owner = User.builder()
+                .name("Юлия")
+                .email("juliya@ya.ru")
+                .build();
+        User booker = User.builder()
+                .name("арендатор")
+                .email("booker@ya.ru")
+                .build();
+        Item itemOne = Item.builder()
+                .name("Велосипед трехколесный")
+                .owner(owner)
+                .available(true)
+                .description("женский")
+                .build();
+        Item itemTwo = Item.builder()
+                .name("Велосипед складной")
+                .owner(owner)
+                .available(true)
+                .description("Красный")
+                .build();
+        Booking oldPast = Booking.builder()
+                .booker(booker)
+                .item(itemOne)
+                .status(Status.APPROVED)
+                .start(now.minusDays(5))
+                .end(now.minusDays(4))
+                .build();
+        Booking recentPast = Booking.builder()
+                .booker(booker)
+                .item(itemOne)
+                .status(Status.APPROVED)
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .build();
+        Booking future = Booking.builder()
+                .booker(booker)
+                .item(itemTwo)
+                .status(Status.WAITING)
+                .start(now.plusDays(2))
+                .end(now.plusDays(3))
+                .build();
+
+        tem.persist(owner);
+        tem.persist(booker);
+        tem.persist(itemOne);
+        tem.persist(itemTwo);
+        tem.persist(oldPast);
+        tem.persist(recentPast);
+        tem.persist(future);
+        tem.flush();
+
+        List<Long> itemIds = List.of(itemOne.getId(), itemTwo.getId());
+        List<BookingShortView> last = bookingRepository.findLastBookingsByItemIds(itemIds, now);
+        assertEquals(1, last.size());
+        assertThat(last.get(0).getItemId(), equalTo(itemOne.getId()));
+        assertThat(last.get(0).getId(), equalTo(recentPast.getId()));
+        assertThat(last.get(0).getBookerId(), equalTo(booker.getId()));
+        assertThat(last.get(0).getStartDate(), equalTo(recentPast.getStart()));
+
+        List<BookingShortView> next = bookingRepository.findNextBookingsByItemIds(itemIds, now);
+        assertEquals(1, next.size());
+        assertThat(next.get(0).getItemId(), equalTo(itemTwo.getId()));
+        assertThat(next.get(0).getId(), equalTo(future.getId()));
+        assertThat(next.get(0).getEndDate(), equalTo(future.getEnd()));
+    }
+
+    @Test
+    void getAllByBookerIdAfterCursorSkipsSeenBookingsWithSameStart() {
+        LocalDateTime start = now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        User owner = User.builder()
+                .name("Юлия")
+                .email("juliya@ya.ru")
+                .build();
+        User booker = User.builder()
+                .name("арендатор")
+                .email("booker@ya.ru")
+                .build();
+        Item item = Item.builder()
+                .name("Велосипед трехколесный")
+                .owner(owner)
+                .available(true)
+                .description("женский")
+                .build();
+        Booking first = Booking.builder()
+                .booker(booker)
+                .item(item)
+                .status(Status.WAITING)
+                .start(start)
+                .end(start.plusHours(1))
+                .build();
+        Booking second = Booking.builder()
+                .booker(booker)
+                .item(item)
+                .status(Status.WAITING)
+                .start(start)
+                .end(start.plusHours(2))
+                .build();
+        Booking earlier = Booking.builder()
+                .booker(booker)
+                .item(item)
+                .status(Status.WAITING)
+                .start(start.minusHours(5))
+                .end(start.minusHours(4))
+                .build();
+
+        tem.persist(owner);
+        tem.persist(booker);
+        tem.persist(item);
+        tem.persist(first);
+        tem.persist(second);
+        tem.persist(earlier);
+        tem.flush();
+
+        Sort sort = Sort.by(Sort.Direction.DESC, "start", "id");
+        Slice<BookingFinishDto> bookings = bookingRepository.getAllByBookerIdAfterCursor(booker.getId(), second.getStart(),
+                second.getId(), Pagination.of(0, 5, sort));
+        assertThat(bookings.getContent(), equalTo(Stream.of(first, earlier)
+                .map(BookingMapper::toBookingFinishDto)
+                .collect(Collectors.toList())));
+
+        bookings = bookingRepository.getAllByBookerIdAfterCursor(booker.getId(), first.getStart(),
+                first.getId(), Pagination.of(0, 5, sort));
+        assertThat(bookings.getContent(), equalTo(List.of(BookingMapper.toBookingFinishDto(earlier))));
+    }
+
+    @Test
+    void streamBookedPeriodsReturnsActiveBookingsInRangeOrderedByStart() {
+        LocalDateTime from = now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        User owner = User.builder()
+                .name("Юлия")
+                .email("juliya@ya.ru")
+                .build();
+        User booker = User.builder()
+                .name("арендатор")
+                .email("booker@ya.ru")
+                .build();
+        Item item = Item.builder()
+                .name("Велосипед трехколесный")
+                .owner(owner)
+                .available(true)
+                .description("женский")
+                .build();
+        Booking later = Booking.builder()
+                .booker(booker)
+                .item(item)
+                .status(Status.APPROVED)
+                .start(from.plusDays(3))
+                .end(from.plusDays(4))
+                .build();
+        Booking earlier = Booking.builder()
+                .booker(booker)
+                .item(item)
+                .status(Status.WAITING)
+                .start(from.minusHours(2))
+                .end(from.plusHours(2))
+                .build();
+        Booking rejected = Booking.builder()
+                .booker(booker)
+                .item(item)
+                .status(Status.REJECTED)
+                .start(from.plusDays(1))
+                .end(from.plusDays(2))
+                .build();
+        Booking outOfRange = Booking.builder()
+                .booker(booker)
+                .item(item)
+                .status(Status.APPROVED)
+                .start(from.plusDays(20))
+                .end(from.plusDays(21))
+                .build();
+
+        tem.persist(owner);
+        tem.persist(booker);
+        tem.persist(item);
+        tem.persist(later);
+        tem.persist(earlier);
+        tem.persist(rejected);
+        tem.persist(outOfRange);
+        tem.flush();
+
+        List<LocalDateTime> starts = bookingRepository.streamBookedPeriods(item.getId(), from, from.plusDays(10),
+                        Status.ACTIVE)
+                .map(BookingPeriodView::getStartDate)
+                .collect(Collectors.toList());
+        assertThat(starts, equalTo(List.of(earlier.getStart(), later.getStart())));
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
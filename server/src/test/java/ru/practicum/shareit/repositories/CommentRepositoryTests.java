@@ -4,9 +4,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.cache.CommentCache;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -45,8 +48,11 @@ class CommentRepositoryTests {
         tem.persist(user);
         tem.persist(item);
         tem.persist(comment);
-        List<Comment> commentsList = commentRepository.findCommentsByItem_Id(item.getId());
+        List<CommentDto> commentsList = commentRepository.findAllByItemId(item.getId(),
+                Pagination.of(0, 10, CommentCache.NEWEST_FIRST)).getContent();
         assertEquals(1, commentsList.size());
-        assertThat(commentsList.get(0), equalTo(comment));
+        assertThat(commentsList.get(0).getId(), equalTo(comment.getId()));
+        assertThat(commentsList.get(0).getText(), equalTo("Идеально подошел"));
+        assertThat(commentsList.get(0).getAuthorName(), equalTo("Владислав"));
     }
 }
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.sql.init.mode=never",
+        "spring.datasource.url=jdbc:h2:mem:id-sequence-tests",
+        "spring.jpa.properties.shareit.id.allocation-size=50",
+        "spring.jpa.properties.shareit.id.allocation-size.comments_seq=10"
+})
+class IdSequenceTests {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TestEntityManager tem;
+
+    @Test
+    void idsAreAllocatedFromOneSequenceBlock() {
+        List<User> users = userRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(i -> User.builder()
+                        .name("user" + i)
+                        .email("user" + i + "@ya.ru")
+                        .build())
+                .collect(Collectors.toList()));
+        tem.flush();
+
+        long firstId = users.get(0).getId();
+        assertThat(users.get(1).getId(), equalTo(firstId + 1));
+        assertThat(users.get(2).getId(), equalTo(firstId + 2));
+        assertThat(nextValue("users_seq"), equalTo(firstId + 50));
+    }
+
+    @Test
+    void allocationSizeIsConfigurablePerSequence() {
+        long first = nextValue("comments_seq");
+        assertThat(nextValue("comments_seq"), equalTo(first + 10));
+    }
+
+    private long nextValue(String sequence) {
+        return ((Number) tem.getEntityManager()
+                .createNativeQuery("select next value for " + sequence)
+                .getSingleResult()).longValue();
+    }
+}
@@ -5,6 +5,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.dto.ItemAccess;
+import ru.practicum.shareit.item.dto.ItemWithBookingSummary;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.pagination.Pagination;
@@ -13,6 +16,7 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -48,10 +52,12 @@ class ItemRepositoryTests {
         em.persist(user);
         em.persist(first);
         em.persist(second);
-        Slice<Item> items = itemRepository.findItemsByOwnerId(user.getId(), Pagination.of(0, 5));
+        Slice<ItemWithBookingSummary> items = itemRepository.findWithBookingSummaryByOwnerId(user.getId(),
+                Pagination.of(0, 5, Sort.by("id").ascending()));
         assertEquals(2, items.getContent().size());
-        assertThat(items.getContent().get(0), equalTo(first));
-        assertThat(items.getContent().get(1), equalTo(second));
+        assertThat(items.getContent().get(0).getItem().getId(), equalTo(first.getId()));
+        assertThat(items.getContent().get(0).getItem().getName(), equalTo("Велосипед 1"));
+        assertThat(items.getContent().get(1).getItem().getId(), equalTo(second.getId()));
     }
 
     @Test
@@ -73,6 +79,26 @@ class ItemRepositoryTests {
         assertTrue(exists);
     }
 
+    @Test
+    void findAccessById() {
+        User user = User.builder()
+                .name("Дмитрий")
+                .email("dmitry@mail.com")
+                .build();
+        Item item = Item.builder()
+                .name("Велосипед 1")
+                .owner(user)
+                .available(false)
+                .description("женский")
+                .build();
+
+        em.persist(user);
+        em.persist(item);
+        Optional<ItemAccess> access = itemRepository.findAccessById(item.getId());
+        assertThat(access, equalTo(Optional.of(new ItemAccess(item.getId(), user.getId(), false))));
+        assertTrue(itemRepository.findAccessById(item.getId() + 1).isEmpty());
+    }
+
     @Test
     void findItemsByRequest() {
         User user = User.builder()
@@ -108,4 +134,54 @@ class ItemRepositoryTests {
         assertThat(items.get(0), equalTo(first));
         assertThat(items.get(1), equalTo(second));
     }
+
+    @Test
+    void findItemsByRequestIds() {
+        User user = User.builder()
+                .name("Дмитрий")
+                .email("dmitry@mail.com")
+                .build();
+        Request firstRequest = Request.builder()
+                .user(user)
+                .creationTime(LocalDateTime.now())
+                .description("Мне нужен такой")
+                .build();
+        Request secondRequest = Request.builder()
+                .user(user)
+                .creationTime(LocalDateTime.now())
+                .description("И такой тоже")
+                .build();
+        Item first = Item.builder()
+                .name("Велосипед 1")
+                .owner(user)
+                .available(true)
+                .description("женский")
+                .request(firstRequest)
+                .build();
+        Item second = Item.builder()
+                .name("Велосипед 2")
+                .owner(user)
+                .available(true)
+                .description("детский")
+                .request(secondRequest)
+                .build();
+        Item third = Item.builder()
+                .name("Велосипед 3")
+                .owner(user)
+                .available(true)
+                .description("взрослый")
+                .build();
+
+        em.persist(user);
+        em.persist(firstRequest);
+        em.persist(secondRequest);
+        em.persist(first);
+        em.persist(second);
+        em.persist(third);
+        List<Item> items = itemRepository.findItemsByRequestIdIn(List.of(firstRequest.getId(),
+                secondRequest.getId()));
+        assertEquals(2, items.size());
+        assertThat(items.get(0), equalTo(first));
+        assertThat(items.get(1), equalTo(second));
+    }
 }
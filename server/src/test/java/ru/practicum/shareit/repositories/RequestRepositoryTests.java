@@ -5,12 +5,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -58,4 +61,42 @@ class RequestRepositoryTests {
         assertEquals(1, requestsList.getContent().size());
         assertThat(requestsList.getContent().get(0), equalTo(two));
     }
+
+    @Test
+    void findOtherUsersRequestsAfterCursor() {
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        User author = User.builder()
+                .name("Дарья")
+                .email("darya@hotmail.com")
+                .build();
+        User another = User.builder()
+                .name("Мария")
+                .email("maria@hotmail.com")
+                .build();
+        Request one = Request.builder()
+                .user(another)
+                .description("Описание1")
+                .creationTime(created)
+                .build();
+        Request two = Request.builder()
+                .user(another)
+                .description("Описание2")
+                .creationTime(created)
+                .build();
+        Request three = Request.builder()
+                .user(another)
+                .description("Описание3")
+                .creationTime(created.minusMinutes(1))
+                .build();
+
+        tem.persist(author);
+        tem.persist(another);
+        tem.persist(one);
+        tem.persist(two);
+        tem.persist(three);
+        Slice<Request> requestsList = requestRepository.findAllOtherUsersRequestsAfterCursor(author.getId(),
+                two.getCreationTime(), two.getId(),
+                Pagination.of(0, 5, Sort.by(Sort.Direction.DESC, "creationTime", "id")));
+        assertThat(requestsList.getContent(), equalTo(List.of(one, three)));
+    }
 }
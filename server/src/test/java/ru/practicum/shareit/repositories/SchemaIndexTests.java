@@ -0,0 +1,110 @@
+package ru.practicum.shareit.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import javax.persistence.EntityManager;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.mode=never"
+})
+class SchemaIndexTests {
+    @Autowired
+    private TestEntityManager tem;
+
+    @BeforeEach
+    void beforeEach() {
+        EntityManager em = tem.getEntityManager();
+        if (((Number) em.createNativeQuery("select count(*) from booking").getSingleResult()).longValue() > 0)
+            return;
+        em.createNativeQuery("insert into users (user_name, email) " +
+                "select 'user', 'user' || x || '@ya.ru' from system_range(1, 200)").executeUpdate();
+        em.createNativeQuery("insert into item_request (request_description, user_id, creation_time) " +
+                "select 'request', mod(x, 200) + 1, now() - x * interval '1' minute " +
+                "from system_range(1, 2000)").executeUpdate();
+        em.createNativeQuery("insert into item (item_name, owner_id, request_id) " +
+                "select 'item', mod(x, 200) + 1, mod(x, 2000) + 1 from system_range(1, 2000)").executeUpdate();
+        em.createNativeQuery("insert into booking (start_date, end_date, item_id, booker_id, status) " +
+                "select now() + x * interval '1' minute, now() + (x + 60) * interval '1' minute, " +
+                "mod(x, 2000) + 1, mod(x, 200) + 1, casewhen(mod(x, 2) = 0, 'WAITING', 'APPROVED') " +
+                "from system_range(1, 20000)").executeUpdate();
+        em.createNativeQuery("insert into comments (item_id, author_id, text, created) " +
+                "select mod(x, 2000) + 1, mod(x, 200) + 1, 'comment', now() " +
+                "from system_range(1, 5000)").executeUpdate();
+        em.createNativeQuery("analyze").executeUpdate();
+    }
+
+    @Test
+    void bookingsByBookerAndStartUseBookerStartIndex() {
+        assertThat(explain("select * from booking b where b.booker_id = 1 and b.start_date > now() " +
+                "order by b.start_date desc, b.booking_id desc"), containsString("IDX_BOOKING_BOOKER_START"));
+    }
+
+    @Test
+    void bookingsByBookerAndStatusUseBookerStatusIndex() {
+        assertThat(explain("select * from booking b where b.booker_id = 1 and b.status = 'WAITING' " +
+                "order by b.start_date desc"), containsString("IDX_BOOKING_BOOKER_STATUS_START"));
+    }
+
+    @Test
+    void lastBookingsOfItemsUseItemEndIndex() {
+        assertThat(explain("select * from booking b where b.item_id in (1, 2) and b.end_date < now()"),
+                containsString("IDX_BOOKING_ITEM_END"));
+    }
+
+    @Test
+    void nextBookingsOfItemsUseItemStartIndex() {
+        assertThat(explain("select * from booking b where b.item_id in (1, 2) and b.start_date > now()"),
+                containsString("IDX_BOOKING_ITEM_START"));
+    }
+
+    @Test
+    void itemsByOwnerAfterCursorUseOwnerIndex() {
+        assertThat(explain("select * from item i where i.owner_id = 1 and i.item_id > 5 order by i.item_id"),
+                containsString("IDX_ITEM_OWNER"));
+    }
+
+    @Test
+    void bookingsByOwnerAreNotScanned() {
+        assertThat(explain("select b.* from booking b join item i on b.item_id = i.item_id " +
+                "where i.owner_id = 1 order by b.start_date desc"), not(containsString("tableScan")));
+    }
+
+    @Test
+    void itemsByRequestsAreNotScanned() {
+        assertThat(explain("select * from item i where i.request_id in (1, 2) order by i.item_id"),
+                not(containsString("tableScan")));
+    }
+
+    @Test
+    void requestsByUserAreNotScanned() {
+        assertThat(explain("select * from item_request r where r.user_id = 1 order by r.creation_time desc"),
+                not(containsString("tableScan")));
+    }
+
+    @Test
+    void commentsByItemAreNotScanned() {
+        assertThat(explain("select * from comments c where c.item_id = 1"), not(containsString("tableScan")));
+    }
+
+    @Test
+    void commentsKeysetPageIsNotScanned() {
+        assertThat(explain("select * from comments c where c.item_id = 1 and (c.created < now() or " +
+                        "(c.created = now() and c.comment_id < 100)) order by c.created desc, c.comment_id desc"),
+                not(containsString("tableScan")));
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(tem.getEntityManager().createNativeQuery("explain " + sql).getSingleResult());
+    }
+}
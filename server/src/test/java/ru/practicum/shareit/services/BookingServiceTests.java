@@ -12,18 +12,23 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingFinishDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingStartDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEventType;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingEventOutbox;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.exceptions.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -35,11 +40,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @ExtendWith(MockitoExtension.class)
 class BookingServiceTests {
     @Mock
-    private UserRepository userRepository;
+    private EntityCache entityCache;
     @Mock
     private BookingRepository bookingRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private BookingEventOutbox bookingEvents;
     @InjectMocks
     private BookingServiceImpl bookingService;
     private Item item;
@@ -62,6 +69,7 @@ class BookingServiceTests {
                 .build();
 
         item = Item.builder()
+                .id(1L)
                 .available(true)
                 .request(request)
                 .owner(user)
@@ -84,7 +92,7 @@ class BookingServiceTests {
 
     @Test
     void ifTryToCreateItemWhichDoesNotExistThenItemNotFoundException() {
-        Mockito.when(itemRepository.findById(bookingStartDto.getItemId()))
+        Mockito.when(itemRepository.findByIdForUpdate(bookingStartDto.getItemId()))
                 .thenThrow(new ItemNotFoundException("Вещи с таким id не существует"));
 
         final ItemNotFoundException exception = assertThrows(
@@ -93,18 +101,18 @@ class BookingServiceTests {
 
         assertEquals("Вещи с таким id не существует", exception.getMessage());
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(userRepository, Mockito.never())
-                .findById(Mockito.anyLong());
+                .findByIdForUpdate(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.never())
+                .findUser(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.never())
                 .save(Mockito.any());
     }
 
     @Test
     void ifCreateAndUserDoesNotExistsThenUserNotFoundException() {
-        Mockito.when(itemRepository.findById(bookingStartDto.getItemId()))
+        Mockito.when(itemRepository.findByIdForUpdate(bookingStartDto.getItemId()))
                 .thenReturn(Optional.of(item));
-        Mockito.when(userRepository.findById(1L))
+        Mockito.when(entityCache.findUser(1L))
                 .thenThrow(new UserNotFoundException("Пользователь с таким id не найден"));
 
         final UserNotFoundException exception = assertThrows(
@@ -113,18 +121,18 @@ class BookingServiceTests {
 
         assertEquals("Пользователь с таким id не найден", exception.getMessage());
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
+                .findByIdForUpdate(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .findUser(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.never())
                 .save(Mockito.any());
     }
 
     @Test
     void ifItemToBookBelongsToUserThenItemNotFoundException() {
-        Mockito.when(itemRepository.findById(bookingStartDto.getItemId()))
+        Mockito.when(itemRepository.findByIdForUpdate(bookingStartDto.getItemId()))
                 .thenReturn(Optional.of(item));
-        Mockito.when(userRepository.findById(1L))
+        Mockito.when(entityCache.findUser(1L))
                 .thenReturn(Optional.of(user));
 
         final ItemNotFoundException exception = assertThrows(
@@ -133,9 +141,9 @@ class BookingServiceTests {
         Assertions.assertEquals("Пользователь не может забронировать свою вещь", exception.getMessage());
 
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
+                .findByIdForUpdate(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .findUser(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.never())
                 .save(Mockito.any());
     }
@@ -152,7 +160,7 @@ class BookingServiceTests {
                 .itemId(5L)
                 .build();
 
-        Mockito.when(itemRepository.findById(5L))
+        Mockito.when(itemRepository.findByIdForUpdate(5L))
                 .thenReturn(Optional.of(notAvailable));
 
         final BadRequestException exception = assertThrows(
@@ -161,13 +169,57 @@ class BookingServiceTests {
 
         Assertions.assertEquals("Вещь недоступна, поэтому бронирование невозможно", exception.getMessage());
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(5L);
-        Mockito.verify(userRepository, Mockito.never())
-                .findById(Mockito.anyLong());
+                .findByIdForUpdate(5L);
+        Mockito.verify(entityCache, Mockito.never())
+                .findUser(Mockito.anyLong());
+        Mockito.verify(bookingRepository, Mockito.never())
+                .save(Mockito.any());
+    }
+
+    @Test
+    void ifBookingOverlapsActiveBookingThenBookingOverlapException() {
+        User booker = User.builder()
+                .id(2L)
+                .name("Арендатор")
+                .email("booker@ya.ru")
+                .build();
+        Mockito.when(itemRepository.findByIdForUpdate(bookingStartDto.getItemId()))
+                .thenReturn(Optional.of(item));
+        Mockito.when(entityCache.findUser(2L))
+                .thenReturn(Optional.of(booker));
+        Mockito.when(bookingRepository.existsOverlapping(Mockito.eq(1L), Mockito.any(LocalDateTime.class),
+                        Mockito.any(LocalDateTime.class), Mockito.anyCollection()))
+                .thenReturn(true);
+
+        final BookingOverlapException exception = assertThrows(
+                BookingOverlapException.class,
+                () -> bookingService.create(2L, bookingStartDto));
+
+        Assertions.assertEquals("Вещь уже забронирована на это время", exception.getMessage());
         Mockito.verify(bookingRepository, Mockito.never())
                 .save(Mockito.any());
     }
 
+    @Test
+    void ifApprovingBookingWhichOverlapsApprovedOneThenBookingOverlapException() {
+        Mockito.when(bookingRepository.findById(1L))
+                .thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.existsOverlappingExcept(1L, 1L, booking.getStart(), booking.getEnd(),
+                        Status.APPROVED))
+                .thenReturn(true);
+
+        final BookingOverlapException exception = assertThrows(
+                BookingOverlapException.class,
+                () -> bookingService.update(1L, 1L, true));
+
+        Assertions.assertEquals("Вещь уже забронирована на это время", exception.getMessage());
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .findByIdForUpdate(1L);
+        Mockito.verify(bookingRepository, Mockito.never())
+                .save(Mockito.any(Booking.class));
+        Mockito.verifyNoInteractions(bookingEvents);
+    }
+
     @Test
     void ifUpdatingNotExistingBookingThenBookingNotFoundException() {
         Mockito.when(bookingRepository.findById(1L))
@@ -256,6 +308,21 @@ class BookingServiceTests {
                 .findById(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .save(Mockito.any(Booking.class));
+        Mockito.verify(bookingEvents, Mockito.times(1))
+                .record(BookingEventType.APPROVED, booking);
+    }
+
+    @Test
+    void ifBookingIsRejectedThenRecordRejectedEvent() {
+        Mockito.when(bookingRepository.findById(1L))
+                .thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.save(Mockito.any(Booking.class)))
+                .thenReturn(booking);
+
+        bookingService.update(1L, 1L, false);
+        assertEquals(Status.REJECTED, booking.getStatus());
+        Mockito.verify(bookingEvents, Mockito.times(1))
+                .record(BookingEventType.REJECTED, booking);
     }
 
     @Test
@@ -288,7 +355,7 @@ class BookingServiceTests {
 
     @Test
     void ifUserBookingFromIsIncorrectThenIllegalPaginationException() {
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
 
         final IllegalPaginationException exception = assertThrows(
@@ -297,13 +364,13 @@ class BookingServiceTests {
 
         Assertions.assertEquals("Переменная from должна быть больше, либо равна 0",
                 exception.getMessage());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
     }
 
     @Test
     void ifUserBookingSizeIsIncorrectThenIllegalPaginationException() {
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
 
         final IllegalPaginationException exception = assertThrows(
@@ -312,23 +379,23 @@ class BookingServiceTests {
 
         Assertions.assertEquals("переменная size должна быть больше, либо равна 1",
                 exception.getMessage());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
     }
 
     @Test
     void ifGetUserBookingsAndAllStateThenGetAllByBookerIdBookingRepository() {
-        Pageable pageable = Pagination.of(0, 10, Sort.by("start").descending());
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
+        Pageable pageable = Pagination.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
 
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.getAllByBookerId(1L, pageable))
                 .thenReturn(bookings);
 
         bookingService.getUserBookings(1L, "ALL", 0, 10);
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .getAllByBookerId(1L, pageable);
         Mockito.verify(bookingRepository, Mockito.never())
@@ -345,7 +412,7 @@ class BookingServiceTests {
 
     @Test
     void ifTryToGetUserBookingsAndUserDoesNotExistsThenUserNotFoundException() {
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(false);
 
         final UserNotFoundException exception = assertThrows(
@@ -353,22 +420,22 @@ class BookingServiceTests {
                 () -> bookingService.getUserBookings(1L, "ALL", 0, 10));
 
         Assertions.assertEquals("Пользователь с таким id не найден", exception.getMessage());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
     }
 
     @Test
     void ifGetUserBookingsAndCurrentStateThenFindAllByBookerIdBookingRepository() {
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
-        Mockito.when(userRepository.existsById(1L))
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.findAllByBookerId(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
                         Mockito.any(Pageable.class)))
                 .thenReturn(bookings);
 
         bookingService.getUserBookings(1L, "CURRENT", 0, 10);
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByBookerId(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
                         Mockito.any(Pageable.class));
@@ -386,8 +453,8 @@ class BookingServiceTests {
 
     @Test
     void ifGetUserBookingsAndFutureStateThenFindAllByBookerIdAndStartAfterBookingRepository() {
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
-        Mockito.when(userRepository.existsById(1L))
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.findAllByBookerIdAndStartAfter(Mockito.anyLong(),
                         Mockito.any(LocalDateTime.class),
@@ -396,8 +463,8 @@ class BookingServiceTests {
 
         bookingService.getUserBookings(1L, "FUTURE", 0, 10);
 
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByBookerIdAndStartAfter(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
                         Mockito.any(Pageable.class));
@@ -415,16 +482,16 @@ class BookingServiceTests {
 
     @Test
     void ifGetUserBookingsAndWaitingStateThenFindAllByBookerIdAndStartAfterBookingRepository() {
-        Pageable pageable = Pagination.of(0, 10, Sort.by("start").descending());
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
-        Mockito.when(userRepository.existsById(1L))
+        Pageable pageable = Pagination.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.findAllByBookerIdAndStatus(1L, Status.WAITING, pageable))
                 .thenReturn(bookings);
 
         bookingService.getUserBookings(1L, "WAITING", 0, 10);
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByBookerIdAndStatus(1L, Status.WAITING, pageable);
         Mockito.verify(bookingRepository, Mockito.never())
@@ -442,8 +509,8 @@ class BookingServiceTests {
 
     @Test
     void ifGetUserBookingsAndPastStateThenFindAllByBookerIdAndStartAfterBookingRepository() {
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
-        Mockito.when(userRepository.existsById(1L))
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.findAllByBookerIdAndEndBefore(Mockito.anyLong(),
                         Mockito.any(LocalDateTime.class),
@@ -451,8 +518,8 @@ class BookingServiceTests {
                 .thenReturn(bookings);
 
         bookingService.getUserBookings(1L, "PAST", 0, 10);
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByBookerIdAndEndBefore(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
                         Mockito.any(Pageable.class));
@@ -470,17 +537,17 @@ class BookingServiceTests {
 
     @Test
     void ifGetUserBookingsAndRejectedStateThenFindAllByBookerIdAndStartAfterBookingRepository() {
-        Pageable pageable = Pagination.of(0, 10, Sort.by("start").descending());
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
-        Mockito.when(userRepository.existsById(1L))
+        Pageable pageable = Pagination.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.findAllByBookerIdAndStatus(1L, Status.REJECTED, pageable))
                 .thenReturn(bookings);
 
         bookingService.getUserBookings(1L, "REJECTED", 0, 10);
 
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByBookerIdAndStatus(1L, Status.REJECTED, pageable);
         Mockito.verify(bookingRepository, Mockito.never())
@@ -542,7 +609,7 @@ class BookingServiceTests {
 
     @Test
     void ifBookingsOfOwnerFoundWithCurrentStateThenFindAllByBookerIdBookingRepository() {
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
         Mockito.when(itemRepository.existsByOwnerId(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.findAllCurrentByOwnerId(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
@@ -569,8 +636,8 @@ class BookingServiceTests {
 
     @Test
     void ifBookingsOfOwnerFoundWithAllStateThenGetAllByBookerIdBookingRepository() {
-        Pageable pageable = Pagination.of(0, 10, Sort.by("start").descending());
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
+        Pageable pageable = Pagination.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
         Mockito.when(itemRepository.existsByOwnerId(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.findAllByOwnerId(1L, pageable))
@@ -595,7 +662,7 @@ class BookingServiceTests {
 
     @Test
     void ifBookingsOfOwnerFoundWithFutureStateThenFindAllByBookerIdAndStartAfterBookingRepository() {
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
         Mockito.when(itemRepository.existsByOwnerId(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.findAllFutureByOwnerId(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
@@ -621,7 +688,7 @@ class BookingServiceTests {
 
     @Test
     void ifBookingsOfOwnerFoundWithPastStateThenFindAllByBookerIdAndStartAfterBookingRepository() {
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
         Mockito.when(itemRepository.existsByOwnerId(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.getAllPastByOwnerId(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
@@ -647,8 +714,8 @@ class BookingServiceTests {
 
     @Test
     void ifBookingsOfOwnerFoundWithRejectedStateThenFindAllByBookerIdAndStartAfterBookingRepository() {
-        Pageable pageable = Pagination.of(0, 10, Sort.by("start").descending());
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
+        Pageable pageable = Pagination.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
         Mockito.when(itemRepository.existsByOwnerId(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.findAllByOwnerIdAndStatus(1L, Status.REJECTED, pageable))
@@ -673,8 +740,8 @@ class BookingServiceTests {
 
     @Test
     void ifBookingsOfOwnerFoundWithWaitingStateThenFindAllByBookerIdAndStartAfterBookingRepository() {
-        Pageable pageable = Pagination.of(0, 10, Sort.by("start").descending());
-        Slice<Booking> bookings = new SliceImpl<>(List.of(booking));
+        Pageable pageable = Pagination.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
         Mockito.when(itemRepository.existsByOwnerId(1L))
                 .thenReturn(true);
         Mockito.when(bookingRepository.findAllByOwnerIdAndStatus(1L, Status.WAITING, pageable))
@@ -696,4 +763,36 @@ class BookingServiceTests {
                 .findAllFutureByOwnerId(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
                         Mockito.any(Pageable.class));
     }
+
+    @Test
+    void ifGetUserBookingsAfterCursorThenSeekFromCursorWithoutOffset() {
+        LocalDateTime start = LocalDateTime.of(2023, 1, 10, 12, 0);
+        Pageable pageable = Pagination.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        Slice<BookingFinishDto> bookings = new SliceImpl<>(List.of(BookingMapper.toBookingFinishDto(booking)));
+        Mockito.when(entityCache.userExists(1L))
+                .thenReturn(true);
+        Mockito.when(bookingRepository.getAllByBookerIdAfterCursor(1L, start, 5L, pageable))
+                .thenReturn(bookings);
+
+        bookingService.getUserBookings(1L, "ALL", Cursor.of(start, 5L), 10);
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .getAllByBookerIdAfterCursor(1L, start, 5L, pageable);
+        Mockito.verify(bookingRepository, Mockito.never())
+                .getAllByBookerId(Mockito.anyLong(), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void ifFindBookingsByOwnerAfterCursorWithoutTimeThenIllegalPaginationException() {
+        Mockito.when(itemRepository.existsByOwnerId(1L))
+                .thenReturn(true);
+
+        final IllegalPaginationException exception = assertThrows(
+                IllegalPaginationException.class,
+                () -> bookingService.findBookingsByOwner(1L, "ALL", Cursor.of(5L), 10));
+
+        assertEquals("Некорректное значение параметра after", exception.getMessage());
+        Mockito.verify(bookingRepository, Mockito.never())
+                .findAllByOwnerIdAfterCursor(Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.anyLong(),
+                        Mockito.any(Pageable.class));
+    }
 }
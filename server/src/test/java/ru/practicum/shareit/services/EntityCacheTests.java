@@ -0,0 +1,161 @@
+package ru.practicum.shareit.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.cache.EntityCache;
+import ru.practicum.shareit.cache.LocalCache;
+import ru.practicum.shareit.item.dto.ItemAccess;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class EntityCacheTests {
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    private MeterRegistry meterRegistry;
+    private EntityCache entityCache;
+    private User user;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        entityCache = new EntityCache(userRepository, itemRepository, meterRegistry, 100, Duration.ofMinutes(5));
+        user = User.builder()
+                .id(1L)
+                .name("Олег")
+                .email("oleg@ya.ru")
+                .build();
+    }
+
+    @Test
+    void ifUserRequestedTwiceThenRepositoryCalledOnce() {
+        Mockito.when(userRepository.findById(1L))
+                .thenReturn(Optional.of(user));
+
+        assertThat(entityCache.findUser(1L), equalTo(Optional.of(user)));
+        assertTrue(entityCache.userExists(1L));
+
+        Mockito.verify(userRepository, Mockito.times(1))
+                .findById(1L);
+        assertThat(gets("users", "hit"), equalTo(1.0));
+        assertThat(gets("users", "miss"), equalTo(1.0));
+    }
+
+    @Test
+    void ifUserDoesNotExistThenAbsenceIsNotCached() {
+        Mockito.when(userRepository.findById(1L))
+                .thenReturn(Optional.empty());
+
+        assertFalse(entityCache.userExists(1L));
+        assertFalse(entityCache.userExists(1L));
+
+        Mockito.verify(userRepository, Mockito.times(2))
+                .findById(1L);
+        assertThat(gets("users", "miss"), equalTo(2.0));
+    }
+
+    @Test
+    void ifUserEvictedThenReloadFromRepository() {
+        Mockito.when(userRepository.findById(1L))
+                .thenReturn(Optional.of(user));
+
+        entityCache.findUser(1L);
+        entityCache.evictUser(1L);
+        entityCache.findUser(1L);
+
+        Mockito.verify(userRepository, Mockito.times(2))
+                .findById(1L);
+    }
+
+    @Test
+    void ifUserEvictedInTransactionThenEvictedAgainAfterCommit() {
+        Mockito.when(userRepository.findById(1L))
+                .thenReturn(Optional.of(user));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            entityCache.evictUser(1L);
+            entityCache.findUser(1L);
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        entityCache.findUser(1L);
+
+        Mockito.verify(userRepository, Mockito.times(2))
+                .findById(1L);
+    }
+
+    @Test
+    void ifOwnerEvictedThenItemsOfOwnerReloaded() {
+        Mockito.when(itemRepository.findAccessById(1L))
+                .thenReturn(Optional.of(new ItemAccess(1L, 1L, true)));
+        Mockito.when(itemRepository.findAccessById(2L))
+                .thenReturn(Optional.of(new ItemAccess(2L, 2L, true)));
+
+        entityCache.findItemAccess(1L);
+        entityCache.findItemAccess(2L);
+        entityCache.evictItemsOwnedBy(1L);
+        entityCache.findItemAccess(1L);
+        entityCache.findItemAccess(2L);
+
+        Mockito.verify(itemRepository, Mockito.times(2))
+                .findAccessById(1L);
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .findAccessById(2L);
+        assertThat(gets("items", "hit"), equalTo(1.0));
+    }
+
+    @Test
+    void ifEntryExpiredThenLoadAgain() {
+        Clock clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.millis())
+                .thenReturn(0L, 1_000L, 1_000L);
+        LocalCache<Long, String> cache = new LocalCache<>("test", 10, Duration.ofMillis(500), meterRegistry,
+                clock);
+
+        cache.get(1L, id -> Optional.of("первое"));
+        assertThat(cache.get(1L, id -> Optional.of("второе")), equalTo(Optional.of("второе")));
+        assertThat(gets("test", "miss"), equalTo(2.0));
+    }
+
+    @Test
+    void ifMaxSizeExceededThenLeastRecentlyUsedEvicted() {
+        LocalCache<Long, String> cache = new LocalCache<>("test", 2, Duration.ofMinutes(5), meterRegistry,
+                Clock.systemUTC());
+
+        cache.get(1L, id -> Optional.of("один"));
+        cache.get(2L, id -> Optional.of("два"));
+        cache.get(1L, id -> Optional.of("один"));
+        cache.get(3L, id -> Optional.of("три"));
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.get(1L, id -> Optional.of("новый")), equalTo(Optional.of("один")));
+        assertThat(cache.get(2L, id -> Optional.of("новый")), equalTo(Optional.of("новый")));
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "test").counter().count(), equalTo(2.0));
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).counter().count();
+    }
+}
@@ -10,8 +10,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.CommentCache;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.exceptions.BadRequestException;
 import ru.practicum.shareit.errors.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.errors.exceptions.NoAccessException;
@@ -19,17 +24,21 @@ import ru.practicum.shareit.errors.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemSearchMode;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -46,7 +55,13 @@ class ItemServiceTests {
     @Mock
     private ItemRepository itemRepository;
     @Mock
-    private UserRepository userRepository;
+    private EntityCache entityCache;
+    @Mock
+    private CommentCache commentCache;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemBookingSummaryService bookingSummaries;
     @InjectMocks
     private ItemServiceImpl itemService;
     private static Item item;
@@ -76,10 +91,10 @@ class ItemServiceTests {
 
     @Test
     void ifCommentPostedOnNotExistingBookingThenBadRequestException() {
-        Mockito.when(userRepository.findById(1L))
+        Mockito.when(entityCache.findUser(1L))
                 .thenReturn(Optional.of(user));
-        Mockito.when(itemRepository.findById(1L))
-                .thenReturn(Optional.of(item));
+        Mockito.when(entityCache.findItemAccess(1L))
+                .thenReturn(Optional.of(new ItemAccess(1L, 1L, true)));
         Mockito.when(bookingRepository.getTopByItem_IdAndBooker_IdOrderByEndAsc(1L, 1L))
                 .thenReturn(Optional.empty());
 
@@ -90,10 +105,10 @@ class ItemServiceTests {
         assertEquals("Этот пользователь не может оставить комментарий",
                 exception.getMessage());
 
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .findUser(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .findItemAccess(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .getTopByItem_IdAndBooker_IdOrderByEndAsc(Mockito.anyLong(), Mockito.anyLong());
         Mockito.verify(commentRepository, Mockito.never())
@@ -104,10 +119,10 @@ class ItemServiceTests {
     void ifPostingCommentIsOkThenSaveCommentRepository() {
         Booking prevBooking = Booking.builder().end(LocalDateTime.now().minusDays(1L)).build();
         Comment commentIsCorrect = CommentsMapper.toComment(comment, item, user);
-        Mockito.when(userRepository.findById(1L))
+        Mockito.when(entityCache.findUser(1L))
                 .thenReturn(Optional.of(user));
-        Mockito.when(itemRepository.findById(1L))
-                .thenReturn(Optional.of(item));
+        Mockito.when(entityCache.findItemAccess(1L))
+                .thenReturn(Optional.of(new ItemAccess(1L, 1L, true)));
         Mockito.when(bookingRepository.getTopByItem_IdAndBooker_IdOrderByEndAsc(1L, 1L))
                 .thenReturn(Optional.of(prevBooking));
         Mockito.when(commentRepository.save(Mockito.any()))
@@ -115,19 +130,21 @@ class ItemServiceTests {
 
         CommentDto commentDto = itemService.createComment(comment, 1L, 1L);
         assertThat(commentDto, equalTo(CommentsMapper.toCommentDto(commentIsCorrect)));
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .findUser(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .findItemAccess(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .getTopByItem_IdAndBooker_IdOrderByEndAsc(Mockito.anyLong(), Mockito.anyLong());
         Mockito.verify(commentRepository, Mockito.times(1))
                 .save(Mockito.any());
+        Mockito.verify(commentCache, Mockito.times(1))
+                .evict(1L);
     }
 
     @Test
     void ifUpdatingByNotExistingUserThenUserNotFoundException() {
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(false);
 
         final UserNotFoundException exception = assertThrows(
@@ -135,8 +152,8 @@ class ItemServiceTests {
                 () -> itemService.update(1L, 1L, itemDto));
 
         assertEquals("Пользователь не найден", exception.getMessage());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.never())
                 .findById(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.never())
@@ -145,7 +162,7 @@ class ItemServiceTests {
 
     @Test
     void ifUpdateDoesNotExistsThenItemNotFoundException() {
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(itemRepository.findById(1L))
                 .thenThrow(new ItemNotFoundException("Вещи с таким id не существует"));
@@ -155,8 +172,8 @@ class ItemServiceTests {
                 () -> itemService.update(1L, 1L, itemDto));
 
         assertEquals("Вещи с таким id не существует", exception.getMessage());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.times(1))
                 .findById(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.never())
@@ -165,7 +182,7 @@ class ItemServiceTests {
 
     @Test
     void ifUpdatingItemIsOkThenCallSaveItemRepository() {
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(itemRepository.findById(1L))
                 .thenReturn(Optional.of(item));
@@ -174,12 +191,16 @@ class ItemServiceTests {
 
         ItemDto itemToReturn = itemService.update(1L, 1L, itemDto);
         assertThat(itemToReturn, equalTo(ItemMapper.toItemDto(item)));
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(itemSearchIndex, Mockito.times(1))
+                .index(item);
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.times(1))
                 .findById(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.times(1))
                 .save(Mockito.any());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .evictItem(1L);
     }
 
     @Test
@@ -194,90 +215,99 @@ class ItemServiceTests {
         assertEquals("Вещи с таким id не существует", exception.getMessage());
         Mockito.verify(itemRepository, Mockito.times(1))
                 .findById(Mockito.anyLong());
-        Mockito.verify(commentRepository, Mockito.never())
-                .findCommentsByItem_Id(Mockito.anyLong());
-        Mockito.verify(bookingRepository, Mockito.never())
-                .getTopByItem_IdAndEndBeforeOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class));
-        Mockito.verify(bookingRepository, Mockito.never())
-                .getTopByItem_IdAndStartAfterOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class));
+        Mockito.verifyNoInteractions(commentCache);
+        Mockito.verifyNoInteractions(bookingSummaries);
     }
 
     @Test
     void ifUserIsOwnerOfItemFoundByIdThenReturnItemWithBookingsAnaDates() {
-        List<Comment> commentsList = List.of(CommentsMapper.toComment(comment, item, user));
-        Booking prev = Booking.builder().item(item).booker(user).start(LocalDateTime.now().minusDays(1)).build();
-        Booking next = Booking.builder().item(item).booker(user).start(LocalDateTime.now().plusDays(1)).build();
+        ItemComments comments = new ItemComments(1, List.of(comment));
+        Booking prev = Booking.builder().id(1L).item(item).booker(user).start(LocalDateTime.now().minusDays(1))
+                .build();
+        Booking next = Booking.builder().id(2L).item(item).booker(user).start(LocalDateTime.now().plusDays(1))
+                .build();
         User owner = User.builder().id(1L).build();
         item.setOwner(owner);
 
         Mockito.when(itemRepository.findById(1L))
                 .thenReturn(Optional.of(item));
-        Mockito.when(commentRepository.findCommentsByItem_Id(1L))
-                .thenReturn(commentsList);
-        Mockito.when(bookingRepository.getTopByItem_IdAndEndBeforeOrderByStartDesc(Mockito.anyLong(),
-                        Mockito.any(LocalDateTime.class)))
-                .thenReturn(Optional.of(prev));
-        Mockito.when(bookingRepository.getTopByItem_IdAndStartAfterOrderByStartDesc(Mockito.anyLong(),
-                        Mockito.any(LocalDateTime.class)))
-                .thenReturn(Optional.of(next));
+        Mockito.when(commentCache.findLatest(1L))
+                .thenReturn(comments);
+        Mockito.when(bookingSummaries.find(Mockito.eq(1L), Mockito.any(LocalDateTime.class)))
+                .thenReturn(bookingSummary(prev, next, null));
 
         ItemDtoWithComments itemsReturned = itemService.findById(1L, 1L);
         assertNotNull(itemsReturned.getLastBooking());
         assertNotNull(itemsReturned.getNextBooking());
         BookingDto prevShortBooking = BookingMapper.toBookingDto(prev);
         BookingDto nextShortBooking = BookingMapper.toBookingDto(next);
-        CommentDto comment = CommentsMapper.toCommentDto(commentsList.get(0));
         assertThat(itemsReturned, equalTo(ItemMapper.toItemDtoWithComments(item, prevShortBooking, nextShortBooking,
-                List.of(comment))));
+                comments)));
 
         Mockito.verify(itemRepository, Mockito.times(1))
                 .findById(Mockito.anyLong());
-        Mockito.verify(commentRepository, Mockito.times(1))
-                .findCommentsByItem_Id(Mockito.anyLong());
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .getTopByItem_IdAndEndBeforeOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class));
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .getTopByItem_IdAndStartAfterOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class));
+        Mockito.verify(commentCache, Mockito.times(1))
+                .findLatest(Mockito.anyLong());
+        Mockito.verify(bookingSummaries, Mockito.times(1))
+                .find(Mockito.eq(1L), Mockito.any(LocalDateTime.class));
     }
 
     @Test
     void ifUserIsNotOwnerOfItemThenReturnItemBookingsDateNull() {
-        List<Comment> commentsList = List.of(CommentsMapper.toComment(comment, item, user));
+        ItemComments comments = new ItemComments(1, List.of(comment));
         User owner = User.builder().id(5L).build();
         item.setOwner(owner);
         Mockito.when(itemRepository.findById(1L))
                 .thenReturn(Optional.of(item));
-        Mockito.when(commentRepository.findCommentsByItem_Id(1L))
-                .thenReturn(commentsList);
+        Mockito.when(commentCache.findLatest(1L))
+                .thenReturn(comments);
 
         ItemDtoWithComments itemReturned = itemService.findById(1L, 1L);
         assertNull(itemReturned.getNextBooking());
         assertNull(itemReturned.getLastBooking());
-        CommentDto comment = CommentsMapper.toCommentDto(commentsList.get(0));
-        assertThat(itemReturned, equalTo(ItemMapper.toItemDtoWithComments(item, null, null, List.of(comment))));
+        assertThat(itemReturned, equalTo(ItemMapper.toItemDtoWithComments(item, null, null, comments)));
         Mockito.verify(itemRepository, Mockito.times(1))
                 .findById(Mockito.anyLong());
-        Mockito.verify(commentRepository, Mockito.times(1))
-                .findCommentsByItem_Id(Mockito.anyLong());
-        Mockito.verify(bookingRepository, Mockito.never())
-                .getTopByItem_IdAndEndBeforeOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class));
-        Mockito.verify(bookingRepository, Mockito.never())
-                .getTopByItem_IdAndStartAfterOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class));
+        Mockito.verify(commentCache, Mockito.times(1))
+                .findLatest(Mockito.anyLong());
+        Mockito.verifyNoInteractions(bookingSummaries);
     }
 
     @Test
-    void findItemsByOwnerIdThenReturnItemWithBookingsDate() {
-        Slice<Item> items = new SliceImpl<>(List.of(item));
-        Booking prev = Booking.builder().item(item).booker(user).start(LocalDateTime.now().minusDays(1)).build();
-        Booking next = Booking.builder().item(item).booker(user).start(LocalDateTime.now().plusDays(1)).build();
-        Mockito.when(itemRepository.findItemsByOwnerId(Mockito.anyLong(), Mockito.any(Pagination.class)))
+    void findItemsByOwnerIdThenReturnBookingsFromSummary() {
+        Booking prev = Booking.builder().id(1L).item(item).booker(user).start(LocalDateTime.now().minusDays(1))
+                .end(LocalDateTime.now().minusHours(1)).build();
+        Booking next = Booking.builder().id(2L).item(item).booker(user).start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2)).build();
+        ItemBookingSummary summary = bookingSummary(prev, next, next.getStart());
+        Mockito.when(itemRepository.findWithBookingSummaryByOwnerId(Mockito.anyLong(), Mockito.any(Pagination.class)))
+                .thenReturn(new SliceImpl<>(List.of(new ItemWithBookingSummary(item, summary))));
+
+        List<ItemDtoWithBookings> returnedItemsList = itemService.findByOwner(1L, 0, 10);
+        assertThat(returnedItemsList.get(0), equalTo(ItemMapper.toItemDtoWithBookings(item,
+                BookingMapper.toBookingDto(prev), BookingMapper.toBookingDto(next))));
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .findWithBookingSummaryByOwnerId(1L, Pagination.of(0, 10, Sort.by("id").ascending()));
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void findItemsByOwnerIdWithStaleSummaryThenRecomputeBookings() {
+        ItemBookingSummary stale = ItemBookingSummary.builder()
+                .itemId(item.getId())
+                .refreshAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+        Slice<ItemWithBookingSummary> items = new SliceImpl<>(List.of(new ItemWithBookingSummary(item, stale)));
+        BookingShortView prev = bookingShortView(item.getId(), 1L, LocalDateTime.now().minusDays(1));
+        BookingShortView next = bookingShortView(item.getId(), 2L, LocalDateTime.now().plusDays(1));
+        Mockito.when(itemRepository.findWithBookingSummaryByOwnerId(Mockito.anyLong(), Mockito.any(Pagination.class)))
                 .thenReturn(items);
-        Mockito.when(bookingRepository.getTopByItem_IdAndEndBeforeOrderByStartDesc(Mockito.anyLong(),
+        Mockito.when(bookingRepository.findLastBookingsByItemIds(Mockito.anyCollection(),
                         Mockito.any(LocalDateTime.class)))
-                .thenReturn(Optional.of(prev));
-        Mockito.when(bookingRepository.getTopByItem_IdAndStartAfterOrderByStartDesc(Mockito.anyLong(),
+                .thenReturn(List.of(prev));
+        Mockito.when(bookingRepository.findNextBookingsByItemIds(Mockito.anyCollection(),
                         Mockito.any(LocalDateTime.class)))
-                .thenReturn(Optional.of(next));
+                .thenReturn(List.of(next));
 
         List<ItemDtoWithBookings> returnedItemsList = itemService.findByOwner(1L, 0, 10);
         assertNotNull(returnedItemsList.get(0).getLastBooking());
@@ -286,13 +316,27 @@ class ItemServiceTests {
         BookingDto nextShortBooking = BookingMapper.toBookingDto(next);
         assertThat(returnedItemsList.get(0), equalTo(ItemMapper.toItemDtoWithBookings(item, prevShortBooking, nextShortBooking)));
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findItemsByOwnerId(1L, Pagination.of(0, 10, Sort.by("id").ascending()));
+                .findWithBookingSummaryByOwnerId(1L, Pagination.of(0, 10, Sort.by("id").ascending()));
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .getTopByItem_IdAndEndBeforeOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class));
+                .findLastBookingsByItemIds(Mockito.eq(List.of(item.getId())), Mockito.any(LocalDateTime.class));
         Mockito.verify(bookingRepository, Mockito.times(1))
+                .findNextBookingsByItemIds(Mockito.eq(List.of(item.getId())), Mockito.any(LocalDateTime.class));
+        Mockito.verify(bookingRepository, Mockito.never())
+                .getTopByItem_IdAndEndBeforeOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class));
+        Mockito.verify(bookingRepository, Mockito.never())
                 .getTopByItem_IdAndStartAfterOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class));
     }
 
+    @Test
+    void ifOwnerHasNoItemsThenBookingsAreNotRequested() {
+        Mockito.when(itemRepository.findWithBookingSummaryByOwnerId(Mockito.anyLong(), Mockito.any(Pagination.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        List<ItemDtoWithBookings> returnedItemsList = itemService.findByOwner(1L, 0, 10);
+        assertThat(returnedItemsList.size(), equalTo(0));
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     void ifTextToFindIsBlankThenReturnEmptyList() {
         List<ItemDto> emptyList = itemService.searchText(" ", 0, 10);
@@ -313,13 +357,55 @@ class ItemServiceTests {
                 .searchText(Mockito.anyString(), Mockito.any(Pageable.class));
     }
 
+    @Test
+    void ifFullTextSearchModeThenCallSearchFullTextWithPrefixQuery() {
+        ItemServiceImpl fullTextItemService = new ItemServiceImpl(requestRepository, itemRepository, commentRepository,
+                bookingRepository, itemSearchIndex, bookingSummaries, entityCache, commentCache,
+                ItemSearchMode.FULL_TEXT);
+        Slice<Item> items = new SliceImpl<>(List.of(item));
+        Mockito.when(itemRepository.searchFullText(Mockito.anyString(), Mockito.any(Pageable.class)))
+                .thenReturn(items);
+
+        List<ItemDto> returnedList = fullTextItemService.searchText("Горный, ВЕЛОСИПЕД", 0, 10);
+        assertThat(returnedList.size(), equalTo(1));
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .searchFullText("горный:* & велосипед:*", Pagination.of(0, 10));
+        Mockito.verify(itemRepository, Mockito.never())
+                .searchText(Mockito.anyString(), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void ifFullTextSearchHasNoWordsThenReturnEmptyList() {
+        ItemServiceImpl fullTextItemService = new ItemServiceImpl(requestRepository, itemRepository, commentRepository,
+                bookingRepository, itemSearchIndex, bookingSummaries, entityCache, commentCache,
+                ItemSearchMode.FULL_TEXT);
+
+        List<ItemDto> emptyList = fullTextItemService.searchText("&!:*", 0, 10);
+        assertThat(emptyList.size(), equalTo(0));
+        Mockito.verify(itemRepository, Mockito.never())
+                .searchFullText(Mockito.anyString(), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void ifInMemorySearchModeThenSearchIndexWithoutRepository() {
+        ItemServiceImpl inMemoryItemService = new ItemServiceImpl(requestRepository, itemRepository, commentRepository,
+                bookingRepository, itemSearchIndex, bookingSummaries, entityCache, commentCache,
+                ItemSearchMode.IN_MEMORY);
+        Mockito.when(itemSearchIndex.search("велосипед", 0, 10))
+                .thenReturn(List.of(itemDto));
+
+        List<ItemDto> returnedList = inMemoryItemService.searchText("велосипед", 0, 10);
+        assertThat(returnedList, equalTo(List.of(itemDto)));
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
     @Test
     void ifCommentPostedOnCurrentBookingThenInvalidRequestException() {
         Booking current = Booking.builder().end(LocalDateTime.now().plusDays(1L)).build();
-        Mockito.when(userRepository.findById(1L))
+        Mockito.when(entityCache.findUser(1L))
                 .thenReturn(Optional.of(user));
-        Mockito.when(itemRepository.findById(1L))
-                .thenReturn(Optional.of(item));
+        Mockito.when(entityCache.findItemAccess(1L))
+                .thenReturn(Optional.of(new ItemAccess(1L, 1L, true)));
         Mockito.when(bookingRepository.getTopByItem_IdAndBooker_IdOrderByEndAsc(1L, 1L))
                 .thenReturn(Optional.of(current));
 
@@ -330,10 +416,10 @@ class ItemServiceTests {
         assertEquals("Этот пользователь не может оставить комментарий",
                 exception.getMessage());
 
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .findUser(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .findItemAccess(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .getTopByItem_IdAndBooker_IdOrderByEndAsc(Mockito.anyLong(), Mockito.anyLong());
         Mockito.verify(commentRepository, Mockito.never())
@@ -344,7 +430,7 @@ class ItemServiceTests {
     void ifUpdatedByNotOwnerThenNoAccessException() {
         User randomGuy = User.builder().id(5L).build();
         Item item = Item.builder().id(1L).owner(randomGuy).build();
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(itemRepository.findById(1L))
                 .thenReturn(Optional.of(item));
@@ -354,11 +440,113 @@ class ItemServiceTests {
                 () -> itemService.update(1L, 1L, itemDto));
 
         assertEquals("У пользователя нет доступа к этой вещи", exception.getMessage());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.times(1))
                 .findById(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.never())
                 .save(Mockito.any());
     }
+
+    @Test
+    void ifAvailabilityRequestedThenMergeOverlappingBookingsIntoFreeWindows() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        Mockito.when(itemRepository.existsById(1L))
+                .thenReturn(true);
+        Mockito.when(bookingRepository.streamBookedPeriods(1L, from, to, Status.ACTIVE))
+                .thenReturn(Stream.of(
+                        bookingPeriod(from.minusDays(1), from.plusDays(1)),
+                        bookingPeriod(from.plusDays(3), from.plusDays(5)),
+                        bookingPeriod(from.plusDays(4), from.plusDays(6)),
+                        bookingPeriod(from.plusDays(6), from.plusDays(7))));
+
+        List<AvailabilityDto> windows = itemService.findAvailability(1L, from, to);
+        assertThat(windows, equalTo(List.of(
+                new AvailabilityDto(from.plusDays(1), from.plusDays(3)),
+                new AvailabilityDto(from.plusDays(7), to))));
+    }
+
+    @Test
+    void ifItemHasNoBookingsThenWholePeriodIsFree() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        Mockito.when(itemRepository.existsById(1L))
+                .thenReturn(true);
+        Mockito.when(bookingRepository.streamBookedPeriods(1L, from, to, Status.ACTIVE))
+                .thenReturn(Stream.empty());
+
+        List<AvailabilityDto> windows = itemService.findAvailability(1L, from, to);
+        assertThat(windows, equalTo(List.of(new AvailabilityDto(from, to))));
+    }
+
+    @Test
+    void ifAvailabilityPeriodIsEmptyThenBadRequestException() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        final BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> itemService.findAvailability(1L, from, from));
+
+        assertEquals("Начало периода должно быть раньше его завершения", exception.getMessage());
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    private static BookingPeriodView bookingPeriod(LocalDateTime start, LocalDateTime end) {
+        return new BookingPeriodView() {
+            @Override
+            public LocalDateTime getStartDate() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return end;
+            }
+        };
+    }
+
+    private static ItemBookingSummary bookingSummary(Booking last, Booking next, LocalDateTime refreshAt) {
+        return ItemBookingSummary.builder()
+                .itemId(item.getId())
+                .lastBookingId(last.getId())
+                .lastBookerId(last.getBooker().getId())
+                .lastStart(last.getStart())
+                .lastEnd(last.getEnd())
+                .nextBookingId(next.getId())
+                .nextBookerId(next.getBooker().getId())
+                .nextStart(next.getStart())
+                .nextEnd(next.getEnd())
+                .refreshAt(refreshAt)
+                .build();
+    }
+
+    private static BookingShortView bookingShortView(long itemId, long bookingId, LocalDateTime start) {
+        return new BookingShortView() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getId() {
+                return bookingId;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return user.getId();
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return start.plusHours(1);
+            }
+        };
+    }
 }
@@ -10,6 +10,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.exceptions.RequestNotFoundException;
 import ru.practicum.shareit.errors.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.dto.ItemMapper;
@@ -23,7 +24,6 @@ import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.request.service.RequestServiceImpl;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -36,7 +36,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(MockitoExtension.class)
 class RequestServiceTests {
     @Mock
-    private UserRepository userRepository;
+    private EntityCache entityCache;
     @Mock
     private RequestRepository requestRepository;
     @Mock
@@ -72,7 +72,7 @@ class RequestServiceTests {
 
     @Test
     void ifTryToCreateByUserWhoDoesNotExistsThenUserNotFoundException() {
-        Mockito.when(userRepository.findById(1L))
+        Mockito.when(entityCache.findUser(1L))
                 .thenThrow(new UserNotFoundException("Пользователь с таким id не найден"));
 
         final UserNotFoundException exception = assertThrows(
@@ -81,8 +81,8 @@ class RequestServiceTests {
 
         assertEquals("Пользователь с таким id не найден", exception.getMessage());
 
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(1L);
+        Mockito.verify(entityCache, Mockito.times(1))
+                .findUser(1L);
         Mockito.verify(requestRepository, Mockito.never())
                 .save(Mockito.any(Request.class));
     }
@@ -90,43 +90,45 @@ class RequestServiceTests {
     @Test
     void ifCreateThenCallRepositoryAndReturnDto() {
         request.setCreationTime(LocalDateTime.now());
-        Mockito.when(userRepository.findById(1L))
+        Mockito.when(entityCache.findUser(1L))
                 .thenReturn(Optional.of(user));
         Mockito.when(requestRepository.save(Mockito.any(Request.class)))
                 .thenReturn(request);
 
         ItemRequestDto item = requestService.create(1L, requestShortDto);
         assertThat(item, equalTo(RequestMapper.toRequestDto(request)));
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(1L);
+        Mockito.verify(entityCache, Mockito.times(1))
+                .findUser(1L);
         Mockito.verify(requestRepository, Mockito.times(1))
                 .save(Mockito.any(Request.class));
     }
 
     @Test
-    void ifThreeRequestsByUserFoundCallFindItemsItemRepository() {
+    void ifThreeRequestsByUserFoundCallFindItemsItemRepositoryOnce() {
         Request requestOne = Request.builder().id(1L).build();
         Request requestTwo = Request.builder().id(2L).build();
         Request requestThree = Request.builder().id(3L).build();
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(requestRepository.findAllByUserIdOrderByCreationTimeDesc(Mockito.anyLong()))
                 .thenReturn(List.of(requestOne, requestTwo, requestThree));
-        Mockito.when(itemRepository.findItemsByRequestId(Mockito.anyLong()))
+        Mockito.when(itemRepository.findItemsByRequestIdIn(Mockito.anyCollection()))
                 .thenReturn(List.of(item));
 
         requestService.findByUserId(1L);
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(1L);
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(1L);
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findAllByUserIdOrderByCreationTimeDesc(Mockito.anyLong());
-        Mockito.verify(itemRepository, Mockito.times(3))
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .findItemsByRequestIdIn(List.of(1L, 2L, 3L));
+        Mockito.verify(itemRepository, Mockito.never())
                 .findItemsByRequestId(Mockito.anyLong());
     }
 
     @Test
     void ifRequestCalledByUserWhoDoesNotExistsThenUserNotFoundException() {
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(false);
 
         final UserNotFoundException exception = assertThrows(
@@ -134,31 +136,31 @@ class RequestServiceTests {
                 () -> requestService.findByUserId(1L));
 
         assertEquals("Пользователя с таким id не существует", exception.getMessage());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(1L);
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(1L);
         Mockito.verify(requestRepository, Mockito.never())
                 .findAllByUserIdOrderByCreationTimeDesc(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.never())
-                .findItemsByRequestId(Mockito.anyLong());
+                .findItemsByRequestIdIn(Mockito.anyCollection());
     }
 
     @Test
     void ifUserFoundThenReturnRequestsAndItems() {
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(requestRepository.findAllByUserIdOrderByCreationTimeDesc(Mockito.anyLong()))
                 .thenReturn(List.of(request));
-        Mockito.when(itemRepository.findItemsByRequestId(Mockito.anyLong()))
+        Mockito.when(itemRepository.findItemsByRequestIdIn(Mockito.anyCollection()))
                 .thenReturn(List.of(item));
 
         List<RequestDtoItems> itemsList = requestService.findByUserId(1L);
         assertNotNull(itemsList.get(0).getItems());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(1L);
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(1L);
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findAllByUserIdOrderByCreationTimeDesc(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findItemsByRequestId(Mockito.anyLong());
+                .findItemsByRequestIdIn(Mockito.anyCollection());
     }
 
     @Test
@@ -167,7 +169,7 @@ class RequestServiceTests {
 
         Mockito.when(requestRepository.findAllOtherUsersRequests(Mockito.anyLong(), Mockito.any(Pageable.class)))
                 .thenReturn(requests);
-        Mockito.when(itemRepository.findItemsByRequestId(Mockito.anyLong()))
+        Mockito.when(itemRepository.findItemsByRequestIdIn(Mockito.anyCollection()))
                 .thenReturn(List.of(item));
 
         List<RequestDtoItems> requestList = requestService.findAllUsersRequests(1L, 0, 10);
@@ -176,29 +178,29 @@ class RequestServiceTests {
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findAllOtherUsersRequests(Mockito.anyLong(), Mockito.any(Pageable.class));
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findItemsByRequestId(Mockito.anyLong());
+                .findItemsByRequestIdIn(Mockito.anyCollection());
     }
 
     @Test
-    void ifTwoUserRequestsWereFoundThenCallFindItemsItemRepositoryTwice() {
+    void ifTwoUserRequestsWereFoundThenCallFindItemsItemRepositoryOnce() {
         Request requestOne = Request.builder().id(1L).build();
         Request requestTwo = Request.builder().id(2L).build();
         Slice<Request> requests = new SliceImpl<>(List.of(requestOne, requestTwo));
         Mockito.when(requestRepository.findAllOtherUsersRequests(Mockito.anyLong(), Mockito.any(Pageable.class)))
                 .thenReturn(requests);
-        Mockito.when(itemRepository.findItemsByRequestId(Mockito.anyLong()))
+        Mockito.when(itemRepository.findItemsByRequestIdIn(Mockito.anyCollection()))
                 .thenReturn(List.of(item));
 
         requestService.findAllUsersRequests(1L, 0, 10);
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findAllOtherUsersRequests(Mockito.anyLong(), Mockito.any(Pageable.class));
-        Mockito.verify(itemRepository, Mockito.times(2))
-                .findItemsByRequestId(Mockito.anyLong());
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .findItemsByRequestIdIn(List.of(1L, 2L));
     }
 
     @Test
     void ifTryToFindByNotExistingUserThenUserNotFoundException() {
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(false);
 
         final UserNotFoundException exception = assertThrows(
@@ -206,8 +208,8 @@ class RequestServiceTests {
                 () -> requestService.findById(1L, 5L));
 
         assertEquals("Пользователя с таким id не существует", exception.getMessage());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(1L);
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(1L);
         Mockito.verify(requestRepository, Mockito.never())
                 .findById(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.never())
@@ -216,7 +218,7 @@ class RequestServiceTests {
 
     @Test
     void ifRequestDoesNotExistThenRequestNotFoundException() {
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(requestRepository.findById(5L))
                 .thenThrow(new RequestNotFoundException("Такого запроса не существует"));
@@ -226,8 +228,8 @@ class RequestServiceTests {
                 () -> requestService.findById(1L, 5L));
 
         assertEquals("Такого запроса не существует", exception.getMessage());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(1L);
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(1L);
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findById(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.never())
@@ -236,7 +238,7 @@ class RequestServiceTests {
 
     @Test
     void ifRequestFoundByIdThenReturnRequestWithItems() {
-        Mockito.when(userRepository.existsById(1L))
+        Mockito.when(entityCache.userExists(1L))
                 .thenReturn(true);
         Mockito.when(requestRepository.findById(1L))
                 .thenReturn(Optional.of(request));
@@ -246,8 +248,8 @@ class RequestServiceTests {
         RequestDtoItems items = requestService.findById(1L, 1L);
         assertNotNull(items.getItems());
         assertThat(items.getItems(), equalTo(List.of(ItemMapper.toItemDto(item))));
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(1L);
+        Mockito.verify(entityCache, Mockito.times(1))
+                .userExists(1L);
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findById(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.times(1))
@@ -7,14 +7,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.CommentCache;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.errors.exceptions.DuplicateEmailException;
 import ru.practicum.shareit.errors.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +33,16 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class UserServiceTests {
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private ItemBookingSummaryService bookingSummaries;
+    @Mock
+    private ItemSearchIndex searchIndex;
+    @Mock
+    private EntityCache entityCache;
+    @Mock
+    private CommentCache commentCache;
     @InjectMocks
     private UserServiceImpl userService;
     private static UserDto userDto;
@@ -75,6 +91,10 @@ class UserServiceTests {
                 .save(user);
         Mockito.verify(userRepository, Mockito.never())
                 .existsUserByEmail(Mockito.anyString());
+        Mockito.verify(entityCache, Mockito.times(1))
+                .evictUser(1L);
+        Mockito.verify(commentCache, Mockito.times(1))
+                .clear();
     }
 
     @Test
@@ -166,8 +186,21 @@ class UserServiceTests {
 
     @Test
     void ifDeleteThenCallRepositoryDeleteMethod() {
+        Mockito.when(bookingRepository.findItemIdsByBookerId(1L))
+                .thenReturn(List.of(3L));
+
         userService.remove(1L);
         Mockito.verify(userRepository, Mockito.times(1))
                 .deleteById(1L);
+        Mockito.verify(entityCache, Mockito.times(1))
+                .evictUser(1L);
+        Mockito.verify(entityCache, Mockito.times(1))
+                .evictItemsOwnedBy(1L);
+        Mockito.verify(bookingSummaries, Mockito.times(1))
+                .refreshAll(Mockito.eq(List.of(3L)), Mockito.any(LocalDateTime.class));
+        Mockito.verify(searchIndex, Mockito.times(1))
+                .removeByOwner(1L);
+        Mockito.verify(commentCache, Mockito.times(1))
+                .clear();
     }
 }
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.services.implementations;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingStartDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.errors.exceptions.BookingOverlapException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingConcurrencyTests {
+    private static final int BOOKERS = 16;
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final List<Long> userIds = new ArrayList<>();
+    private Long itemId;
+
+    @AfterEach
+    void afterEach() {
+        bookingRepository.deleteAll(bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(itemId))
+                .collect(Collectors.toList()));
+        if (itemId != null)
+            itemRepository.deleteById(itemId);
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    void parallelBookersOfOneItemGetExactlyOneBooking() throws Exception {
+        UserDto owner = userService.create(UserDto.builder()
+                .name("Владелец")
+                .email("owner@ya.ru")
+                .build());
+        userIds.add(owner.getId());
+        itemId = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Велосипед")
+                .description("Горный")
+                .available(true)
+                .build()).getId();
+        for (int i = 0; i < BOOKERS; i++) {
+            userIds.add(userService.create(UserDto.builder()
+                    .name("Арендатор " + i)
+                    .email("booker" + i + "@ya.ru")
+                    .build()).getId());
+        }
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 1; i <= BOOKERS; i++) {
+            long bookerId = userIds.get(i);
+            LocalDateTime bookingStart = start.plusHours(i % 3);
+            results.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    bookingService.create(bookerId, BookingStartDto.builder()
+                            .itemId(itemId)
+                            .start(bookingStart)
+                            .end(bookingStart.plusHours(4))
+                            .build());
+                    return true;
+                } catch (BookingOverlapException e) {
+                    return false;
+                }
+            }));
+        }
+        ready.countDown();
+        executor.shutdown();
+
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get())
+                created++;
+        }
+        List<Booking> bookings = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(itemId))
+                .collect(Collectors.toList());
+
+        assertThat(created, equalTo(1));
+        assertThat(bookings.size(), equalTo(1));
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.services.implementations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.BookingFinishDto;
+import ru.practicum.shareit.booking.dto.BookingStartDto;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.booking.model.BookingEventType;
+import ru.practicum.shareit.booking.repository.BookingEventRepository;
+import ru.practicum.shareit.booking.service.BookingEventListener;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.cache.EntityCache;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        properties = {
+                "shareit.booking-events.dispatch.enabled=true",
+                "shareit.booking-events.poll-delay=PT0.1S",
+                "shareit.booking-events.retry-delay=PT0.1S",
+                "shareit.booking-events.max-attempts=2"
+        },
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Sql({"/schema.sql"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingEventDispatcherTests {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingEventRepository eventRepository;
+    @Autowired
+    private EntityCache entityCache;
+    @Autowired
+    private RecordingListener listener;
+    private long ownerId;
+    private long bookerId;
+    private long itemId;
+
+    @BeforeEach
+    void beforeEach() {
+        entityCache.clear();
+        listener.reset();
+        ownerId = userService.create(UserDto.builder().name("Владелец").email("owner@ya.ru").build()).getId();
+        bookerId = userService.create(UserDto.builder().name("Арендатор").email("booker@ya.ru").build()).getId();
+        itemId = itemService.create(ownerId, ItemDto.builder()
+                .name("Велосипед")
+                .description("Горный")
+                .available(true)
+                .build()).getId();
+    }
+
+    @Test
+    void bookingLifecycleEventsAreDeliveredAfterCommit() {
+        BookingFinishDto booking = createBooking();
+        bookingService.update(ownerId, booking.getId(), true);
+
+        await(() -> listener.events.size() == 2);
+        assertThat(listener.events.stream().map(BookingEvent::getType).collect(Collectors.toList()),
+                contains(BookingEventType.CREATED, BookingEventType.APPROVED));
+        assertThat(listener.events.get(0).getBookingId(), equalTo(booking.getId()));
+        assertThat(listener.events.get(0).getOwnerId(), equalTo(ownerId));
+        assertThat(listener.events.get(0).getBookerId(), equalTo(bookerId));
+        await(() -> eventRepository.findAll().stream().allMatch(event -> event.getDispatchedAt() != null));
+        assertThat(eventRepository.countPending(), equalTo(0L));
+    }
+
+    @Test
+    void failedBatchIsRetriedWithBackoff() {
+        listener.failures.set(1);
+        createBooking();
+
+        await(() -> eventRepository.findAll().stream().allMatch(event -> event.getDispatchedAt() != null));
+        BookingEvent event = eventRepository.findAll().get(0);
+        assertThat(event.getAttempts(), equalTo(1));
+        assertThat(event.getLastError(), containsString("слушатель недоступен"));
+        assertThat(listener.events.size(), equalTo(1));
+    }
+
+    @Test
+    void eventIsParkedAfterMaxAttempts() {
+        listener.failures.set(10);
+        createBooking();
+
+        await(() -> eventRepository.findAll().get(0).getAttempts() == 2);
+        BookingEvent event = eventRepository.findAll().get(0);
+        assertThat(event.getDispatchedAt(), nullValue());
+        assertThat(event.getNextAttemptAt(), nullValue());
+        assertThat(eventRepository.countPending(), equalTo(0L));
+    }
+
+    private BookingFinishDto createBooking() {
+        return bookingService.create(bookerId, BookingStartDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Событие не доставлено за 5 секунд");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class ListenerConfiguration {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements BookingEventListener {
+        private final List<BookingEvent> events = new CopyOnWriteArrayList<>();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public void onEvents(List<BookingEvent> batch) {
+            if (failures.getAndUpdate(left -> Math.max(left - 1, 0)) > 0)
+                throw new IllegalStateException("слушатель недоступен");
+            events.addAll(batch);
+        }
+
+        void reset() {
+            events.clear();
+            failures.set(0);
+        }
+    }
+}
@@ -7,12 +7,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingFinishDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingStartDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
@@ -21,6 +21,7 @@ import ru.practicum.shareit.user.service.UserService;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -58,8 +59,8 @@ class BookingServiceImplTests {
                 .available(true)
                 .build();
         bookingStartDto = BookingStartDto.builder()
-                .start(LocalDateTime.now().plusHours(1L))
-                .end(LocalDateTime.now().plusDays(2L))
+                .start(now().plusHours(1L))
+                .end(now().plusDays(2L))
                 .build();
     }
 
@@ -78,8 +79,9 @@ class BookingServiceImplTests {
 
         assertThat(returned.getId(), notNullValue());
         assertThat(returned.getStatus(), equalTo(booking.getStatus().name()));
-        assertThat(returned.getItem(), equalTo(ItemMapper.toItem(item, UserMapper.toUser(owner))));
-        assertThat(returned.getBooker(), equalTo(UserMapper.toUser(booker)));
+        assertThat(returned.getItem(), equalTo(BookingMapper.toBookingItemDto(booking.getItem())));
+        assertThat(returned.getItem().getOwner(), equalTo(owner));
+        assertThat(returned.getBooker(), equalTo(booker));
     }
 
     @Test
@@ -99,8 +101,8 @@ class BookingServiceImplTests {
         assertThat(bookingToUpdate.getId(), equalTo(bookingToReturn.getId()));
         assertThat(bookingToUpdate.getStatus(), equalTo(Status.APPROVED.name()));
         assertThat(booking.getStatus(), equalTo(Status.APPROVED));
-        assertThat(bookingToUpdate.getItem(), equalTo(ItemMapper.toItem(item, UserMapper.toUser(owner))));
-        assertThat(bookingToUpdate.getBooker(), equalTo(UserMapper.toUser(booker)));
+        assertThat(bookingToUpdate.getItem(), equalTo(BookingMapper.toBookingItemDto(booking.getItem())));
+        assertThat(bookingToUpdate.getBooker(), equalTo(booker));
     }
 
     @Test
@@ -118,8 +120,8 @@ class BookingServiceImplTests {
                 .getSingleResult();
 
         assertThat(foundBooking.getStatus(), equalTo(booking.getStatus().name()));
-        assertThat(foundBooking.getBooker(), equalTo(booking.getBooker()));
-        assertThat(foundBooking.getItem(), equalTo(booking.getItem()));
+        assertThat(foundBooking.getBooker(), equalTo(UserMapper.userDto(booking.getBooker())));
+        assertThat(foundBooking.getItem(), equalTo(BookingMapper.toBookingItemDto(booking.getItem())));
         assertThat(foundBooking.getStart(), equalTo(booking.getStart()));
         assertThat(foundBooking.getEnd(), equalTo(booking.getEnd()));
     }
@@ -138,14 +140,15 @@ class BookingServiceImplTests {
         BookingStartDto bookingTwo = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
+        ItemDto secondItem = itemService.create(itemOwner.getId(), itemDto);
         BookingStartDto currentBooking = BookingStartDto.builder()
-                .itemId(item.getId())
+                .itemId(secondItem.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusSeconds(1))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now().plusSeconds(1))
+                .end(now().plusDays(4))
                 .build();
 
         bookingService.create(booker.getId(), bookingStartDto);
@@ -154,7 +157,7 @@ class BookingServiceImplTests {
         Thread.sleep(5000L);
         List<BookingFinishDto> bookerBookingsList = bookingService.getUserBookings(booker.getId(), "CURRENT", 0, 10);
         assertThat(bookerBookingsList.size(), equalTo(1));
-        assertThat(bookerBookingsList.get(0).getBooker(), equalTo(UserMapper.toUser(booker)));
+        assertThat(bookerBookingsList.get(0).getBooker(), equalTo(booker));
         assertThat(bookerBookingsList.get(0), equalTo(returnedCurrent));
     }
 
@@ -172,14 +175,14 @@ class BookingServiceImplTests {
         BookingStartDto bookingTwo = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
         BookingStartDto bookingOfBooker = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusDays(3))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now().plusDays(3))
+                .end(now().plusDays(4))
                 .build();
 
         BookingFinishDto first = bookingService.create(booker.getId(), bookingStartDto);
@@ -187,11 +190,11 @@ class BookingServiceImplTests {
         BookingFinishDto third = bookingService.create(booker.getId(), bookingOfBooker);
         List<BookingFinishDto> bookerBookingsList = bookingService.findBookingsByOwner(owner.getId(), "ALL", 0, 10);
         assertThat(bookerBookingsList.size(), equalTo(3));
-        assertThat(bookerBookingsList.get(0).getItem().getOwner(), equalTo(UserMapper.toUser(owner)));
+        assertThat(bookerBookingsList.get(0).getItem().getOwner().getId(), equalTo(owner.getId()));
         assertThat(bookerBookingsList.get(0), equalTo(third));
-        assertThat(bookerBookingsList.get(1).getItem().getOwner(), equalTo(UserMapper.toUser(owner)));
+        assertThat(bookerBookingsList.get(1).getItem().getOwner().getId(), equalTo(owner.getId()));
         assertThat(bookerBookingsList.get(1), equalTo(second));
-        assertThat(bookerBookingsList.get(2).getItem().getOwner(), equalTo(UserMapper.toUser(owner)));
+        assertThat(bookerBookingsList.get(2).getItem().getOwner().getId(), equalTo(owner.getId()));
         assertThat(bookerBookingsList.get(2), equalTo(first));
     }
 
@@ -209,14 +212,15 @@ class BookingServiceImplTests {
         BookingStartDto anotherBooking = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
+        ItemDto secondItem = itemService.create(owner.getId(), itemDto);
         BookingStartDto currentDto = BookingStartDto.builder()
-                .itemId(item.getId())
+                .itemId(secondItem.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusSeconds(1))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now().plusSeconds(1))
+                .end(now().plusDays(4))
                 .build();
 
         bookingService.create(booker.getId(), bookingStartDto);
@@ -225,7 +229,7 @@ class BookingServiceImplTests {
         Thread.sleep(5000L);
         List<BookingFinishDto> bookerBookingsList = bookingService.findBookingsByOwner(owner.getId(), "CURRENT", 0, 10);
         assertThat(bookerBookingsList.size(), equalTo(1));
-        assertThat(bookerBookingsList.get(0).getItem().getOwner(), equalTo(UserMapper.toUser(owner)));
+        assertThat(bookerBookingsList.get(0).getItem().getOwner().getId(), equalTo(owner.getId()));
         assertThat(bookerBookingsList.get(0), equalTo(returnedCurrent));
     }
 
@@ -243,14 +247,14 @@ class BookingServiceImplTests {
         BookingStartDto anotherBooking = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
         BookingStartDto anotherNextBooking = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusDays(3))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now().plusDays(3))
+                .end(now().plusDays(4))
                 .build();
 
         BookingFinishDto firstBooking = bookingService.create(booker.getId(), bookingStartDto);
@@ -258,11 +262,11 @@ class BookingServiceImplTests {
         BookingFinishDto thirdBooking = bookingService.create(booker.getId(), anotherNextBooking);
         List<BookingFinishDto> bookerBookingsList = bookingService.findBookingsByOwner(owner.getId(), "FUTURE", 0, 10);
         assertThat(bookerBookingsList.size(), equalTo(3));
-        assertThat(bookerBookingsList.get(0).getItem().getOwner(), equalTo(UserMapper.toUser(owner)));
+        assertThat(bookerBookingsList.get(0).getItem().getOwner().getId(), equalTo(owner.getId()));
         assertThat(bookerBookingsList.get(0), equalTo(thirdBooking));
-        assertThat(bookerBookingsList.get(1).getItem().getOwner(), equalTo(UserMapper.toUser(owner)));
+        assertThat(bookerBookingsList.get(1).getItem().getOwner().getId(), equalTo(owner.getId()));
         assertThat(bookerBookingsList.get(1), equalTo(secondBooking));
-        assertThat(bookerBookingsList.get(2).getItem().getOwner(), equalTo(UserMapper.toUser(owner)));
+        assertThat(bookerBookingsList.get(2).getItem().getOwner().getId(), equalTo(owner.getId()));
         assertThat(bookerBookingsList.get(2), equalTo(firstBooking));
     }
 
@@ -280,14 +284,14 @@ class BookingServiceImplTests {
         BookingStartDto anotherBooking = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
         BookingStartDto previousDto = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusSeconds(1))
-                .end(LocalDateTime.now().plusSeconds(2))
+                .start(now().plusSeconds(1))
+                .end(now().plusSeconds(2))
                 .build();
 
         bookingService.create(booker.getId(), bookingStartDto);
@@ -296,7 +300,7 @@ class BookingServiceImplTests {
         Thread.sleep(5000L);
         List<BookingFinishDto> bookerBookingsList = bookingService.findBookingsByOwner(owner.getId(), "PAST", 0, 10);
         assertThat(bookerBookingsList.size(), equalTo(1));
-        assertThat(bookerBookingsList.get(0).getItem().getOwner(), equalTo(UserMapper.toUser(owner)));
+        assertThat(bookerBookingsList.get(0).getItem().getOwner().getId(), equalTo(owner.getId()));
         assertThat(bookerBookingsList.get(0), equalTo(returnedPast));
     }
 
@@ -314,14 +318,14 @@ class BookingServiceImplTests {
         BookingStartDto booking = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(bookerTwoReturned.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
         BookingStartDto bookingOfBooker = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusDays(3))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now().plusDays(3))
+                .end(now().plusDays(4))
                 .build();
 
         BookingFinishDto bookingTwo = bookingService.create(booker.getId(), bookingStartDto);
@@ -329,9 +333,9 @@ class BookingServiceImplTests {
         BookingFinishDto bookingThree = bookingService.create(booker.getId(), bookingOfBooker);
         List<BookingFinishDto> bookerBookingsList = bookingService.getUserBookings(booker.getId(), "ALL", 0, 10);
         assertThat(bookerBookingsList.size(), equalTo(2));
-        assertThat(bookerBookingsList.get(0).getBooker(), equalTo(UserMapper.toUser(booker)));
+        assertThat(bookerBookingsList.get(0).getBooker(), equalTo(booker));
         assertThat(bookerBookingsList.get(0), equalTo(bookingThree));
-        assertThat(bookerBookingsList.get(1).getBooker(), equalTo(UserMapper.toUser(booker)));
+        assertThat(bookerBookingsList.get(1).getBooker(), equalTo(booker));
         assertThat(bookerBookingsList.get(1), equalTo(bookingTwo));
     }
 
@@ -349,14 +353,14 @@ class BookingServiceImplTests {
         BookingStartDto bookingTwo = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
         BookingStartDto bookingThree = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusDays(3))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now().plusDays(3))
+                .end(now().plusDays(4))
                 .build();
 
         BookingFinishDto nextBooking = bookingService.create(booker.getId(), bookingStartDto);
@@ -364,9 +368,9 @@ class BookingServiceImplTests {
         BookingFinishDto nextBookingTwo = bookingService.create(booker.getId(), bookingThree);
         List<BookingFinishDto> bookerBookingsList = bookingService.getUserBookings(booker.getId(), "FUTURE", 0, 10);
         assertThat(bookerBookingsList.size(), equalTo(2));
-        assertThat(bookerBookingsList.get(0).getBooker(), equalTo(UserMapper.toUser(booker)));
+        assertThat(bookerBookingsList.get(0).getBooker(), equalTo(booker));
         assertThat(bookerBookingsList.get(0), equalTo(nextBookingTwo));
-        assertThat(bookerBookingsList.get(1).getBooker(), equalTo(UserMapper.toUser(booker)));
+        assertThat(bookerBookingsList.get(1).getBooker(), equalTo(booker));
         assertThat(bookerBookingsList.get(1), equalTo(nextBooking));
     }
 
@@ -384,14 +388,14 @@ class BookingServiceImplTests {
         BookingStartDto anotherBooking = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
         BookingStartDto prevDto = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusSeconds(1))
-                .end(LocalDateTime.now().plusSeconds(2))
+                .start(now().plusSeconds(1))
+                .end(now().plusSeconds(2))
                 .build();
 
         bookingService.create(booker.getId(), bookingStartDto);
@@ -400,7 +404,7 @@ class BookingServiceImplTests {
         Thread.sleep(5000L);
         List<BookingFinishDto> bookerBookingsList = bookingService.getUserBookings(booker.getId(), "PAST", 0, 10);
         assertThat(bookerBookingsList.size(), equalTo(1));
-        assertThat(bookerBookingsList.get(0).getBooker(), equalTo(UserMapper.toUser(booker)));
+        assertThat(bookerBookingsList.get(0).getBooker(), equalTo(booker));
         assertThat(bookerBookingsList.get(0), equalTo(returnedPast));
     }
 
@@ -418,14 +422,14 @@ class BookingServiceImplTests {
         BookingStartDto bookingTwo = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
         BookingStartDto bookingOfBooker = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusDays(3))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now().plusDays(3))
+                .end(now().plusDays(4))
                 .build();
 
         BookingFinishDto first = bookingService.create(booker.getId(), bookingStartDto);
@@ -434,7 +438,7 @@ class BookingServiceImplTests {
         BookingFinishDto updatedToRejected = bookingService.update(owner.getId(), second.getId(), false);
         List<BookingFinishDto> bookerBookings = bookingService.getUserBookings(booker.getId(), "REJECTED", 0, 10);
         assertThat(bookerBookings.size(), equalTo(1));
-        assertThat(bookerBookings.get(0).getBooker(), equalTo(UserMapper.toUser(booker)));
+        assertThat(bookerBookings.get(0).getBooker(), equalTo(booker));
         assertThat(bookerBookings.get(0), equalTo(updatedToRejected));
         assertThat(bookerBookings.get(0).getStatus(), equalTo(Status.REJECTED.name()));
     }
@@ -453,14 +457,14 @@ class BookingServiceImplTests {
         BookingStartDto anotherBooking = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
         BookingStartDto bookingOfBooker = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusDays(3))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now().plusDays(3))
+                .end(now().plusDays(4))
                 .build();
 
         BookingFinishDto first = bookingService.create(booker.getId(), bookingStartDto);
@@ -469,7 +473,7 @@ class BookingServiceImplTests {
         bookingService.update(owner.getId(), second.getId(), true);
         List<BookingFinishDto> bookerBookingsList = bookingService.getUserBookings(booker.getId(), "WAITING", 0, 10);
         assertThat(bookerBookingsList.size(), equalTo(1));
-        assertThat(bookerBookingsList.get(0).getBooker(), equalTo(UserMapper.toUser(booker)));
+        assertThat(bookerBookingsList.get(0).getBooker(), equalTo(booker));
         assertThat(bookerBookingsList.get(0), equalTo(first));
         assertThat(bookerBookingsList.get(0).getStatus(), equalTo(Status.WAITING.name()));
     }
@@ -488,14 +492,14 @@ class BookingServiceImplTests {
         BookingStartDto anotherBooking = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
         BookingStartDto bookingByBooker = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusDays(3))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now().plusDays(3))
+                .end(now().plusDays(4))
                 .build();
 
         bookingService.create(booker.getId(), bookingStartDto);
@@ -505,7 +509,7 @@ class BookingServiceImplTests {
         List<BookingFinishDto> bookerBookingsList = bookingService.findBookingsByOwner(owner.getId(), "REJECTED", 0,
                 10);
         assertThat(bookerBookingsList.size(), equalTo(1));
-        assertThat(bookerBookingsList.get(0).getItem().getOwner(), equalTo(UserMapper.toUser(owner)));
+        assertThat(bookerBookingsList.get(0).getItem().getOwner().getId(), equalTo(owner.getId()));
         assertThat(bookerBookingsList.get(0), equalTo(updatedToDecline));
         assertThat(bookerBookingsList.get(0).getStatus(), equalTo(Status.REJECTED.name()));
     }
@@ -524,14 +528,14 @@ class BookingServiceImplTests {
         BookingStartDto bookingTwo = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
                 .build();
         BookingStartDto bookingByBooker = BookingStartDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusDays(3))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now().plusDays(3))
+                .end(now().plusDays(4))
                 .build();
 
         BookingFinishDto firstBooking = bookingService.create(booker.getId(), bookingStartDto);
@@ -541,8 +545,12 @@ class BookingServiceImplTests {
         bookingService.update(owner.getId(), thirdBooking.getId(), true);
         List<BookingFinishDto> bookerBookingsList = bookingService.findBookingsByOwner(owner.getId(), "WAITING", 0, 10);
         assertThat(bookerBookingsList.size(), equalTo(1));
-        assertThat(bookerBookingsList.get(0).getItem().getOwner(), equalTo(UserMapper.toUser(owner)));
+        assertThat(bookerBookingsList.get(0).getItem().getOwner().getId(), equalTo(owner.getId()));
         assertThat(bookerBookingsList.get(0), equalTo(secondBooking));
         assertThat(bookerBookingsList.get(0).getStatus(), equalTo(Status.WAITING.name()));
     }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
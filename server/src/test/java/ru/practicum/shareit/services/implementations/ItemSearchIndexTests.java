@@ -0,0 +1,146 @@
+package ru.practicum.shareit.services.implementations;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        properties = {"db.name=test", "shareit.search.mode=in-memory"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Sql({"/schema.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemSearchIndexTests {
+    private static final List<String> QUERIES = List.of("в", "ВЕЛ", "велосипед", "Сипед ", "о", "ик", "дрель",
+            "горный велосипед", "для дачи", "ый", "не найдётся");
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void beforeEach() {
+        itemSearchIndex.rebuild();
+        assertTrue(itemSearchIndex.isEnabled());
+    }
+
+    @Test
+    void searchResultsAreConsistentWithSqlSearch() {
+        UserDto owner = userService.create(UserDto.builder()
+                .name("Владелец")
+                .email("owner@ya.ru")
+                .build());
+        itemService.create(owner.getId(), item("Велосипед горный", "Для поездок по лесу", true));
+        itemService.create(owner.getId(), item("Дрель", "Ударная, для дачи", true));
+        itemService.create(owner.getId(), item("Велосипед детский", "Трехколесный", false));
+        itemService.create(owner.getId(), item("Самокат", "Почти велосипед", true));
+        ItemDto updated = itemService.create(owner.getId(), item("Лодка", "Надувная", true));
+        assertConsistentWithSql();
+
+        itemService.update(owner.getId(), updated.getId(), ItemDto.builder()
+                .name("Горный велосипед")
+                .build());
+        assertConsistentWithSql();
+
+        itemService.update(owner.getId(), updated.getId(), ItemDto.builder()
+                .available(false)
+                .build());
+        assertConsistentWithSql();
+    }
+
+    @Test
+    void searchResultsArePaginated() {
+        UserDto owner = userService.create(UserDto.builder()
+                .name("Владелец")
+                .email("owner@ya.ru")
+                .build());
+        for (int i = 0; i < 5; i++) {
+            itemService.create(owner.getId(), item("Велосипед " + i, "Городской", true));
+        }
+
+        List<Long> all = ids(itemService.searchText("велосипед", 0, 10));
+        assertThat(all.size(), equalTo(5));
+        assertThat(ids(itemService.searchText("велосипед", 1, 2)), equalTo(all.subList(1, 3)));
+        assertThat(ids(itemService.searchText("велосипед", 4, 2)), equalTo(all.subList(4, 5)));
+    }
+
+    @Test
+    void itemsOfRemovedOwnerAreNotFound() {
+        UserDto owner = userService.create(UserDto.builder()
+                .name("Владелец")
+                .email("owner@ya.ru")
+                .build());
+        UserDto other = userService.create(UserDto.builder()
+                .name("Сосед")
+                .email("other@ya.ru")
+                .build());
+        itemService.create(owner.getId(), item("Велосипед горный", "Для поездок по лесу", true));
+        ItemDto kept = itemService.create(other.getId(), item("Велосипед детский", "Трехколесный", true));
+
+        userService.remove(owner.getId());
+
+        assertThat(ids(itemService.searchText("велосипед", 0, 10)), equalTo(List.of(kept.getId())));
+        assertConsistentWithSql();
+    }
+
+    @Test
+    void rolledBackItemsAreNotFound() {
+        UserDto owner = userService.create(UserDto.builder()
+                .name("Владелец")
+                .email("owner@ya.ru")
+                .build());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemService.create(owner.getId(), item("Велосипед горный", "Для поездок по лесу", true));
+            status.setRollbackOnly();
+        });
+
+        assertThat(itemService.searchText("велосипед", 0, 10), empty());
+    }
+
+    private void assertConsistentWithSql() {
+        for (String query : QUERIES) {
+            List<Long> fromIndex = ids(itemService.searchText(query, 0, 100));
+            List<Long> fromSql = itemRepository.searchText(query, Pagination.of(0, 100)).get()
+                    .map(Item::getId)
+                    .sorted()
+                    .collect(Collectors.toList());
+            assertThat("query: " + query, fromIndex, equalTo(fromSql));
+        }
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static ItemDto item(String name, String description, boolean available) {
+        return ItemDto.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
@@ -2,18 +2,31 @@ package ru.practicum.shareit.services.implementations;
 
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeAll;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.dto.BookingFinishDto;
 import ru.practicum.shareit.booking.dto.BookingStartDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.cache.CommentCache;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.persistence.SqlStatementCounter;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.persistence.EntityManager;
@@ -22,12 +35,18 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 @Transactional
 @SpringBootTest(
-        properties = "db.name=test",
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemServiceImplTests {
@@ -38,6 +57,8 @@ class ItemServiceImplTests {
     private final ItemService itemService;
     private final UserService userService;
     private final BookingService bookingService;
+    private final ItemBookingSummaryService bookingSummaries;
+    private final CommentCache commentCache;
     private static BookingStartDto bookingStartDto;
 
     @BeforeAll
@@ -211,4 +232,191 @@ class ItemServiceImplTests {
         assertThat(textFound.get(1).getName(), equalTo(itemToSave.getName()));
         assertThat(textFound.get(1).getDescription(), equalTo(itemToSave.getDescription()));
     }
-} 
+
+    @Test
+    void findItemsByOwnerRunsConstantNumberOfStatements() {
+        UserDto itemOwner = userService.create(userDto);
+        UserDto booker = userService.create(UserDto.builder()
+                .name("Андрей")
+                .email("andrew@ya.ru")
+                .build());
+        for (int i = 0; i < 10; i++) {
+            ItemDto saved = itemService.create(itemOwner.getId(), itemDto);
+            Item item = tem.find(Item.class, saved.getId());
+            User user = tem.find(User.class, booker.getId());
+            tem.persist(Booking.builder()
+                    .item(item)
+                    .booker(user)
+                    .status(Status.APPROVED)
+                    .start(LocalDateTime.now().minusDays(2))
+                    .end(LocalDateTime.now().minusDays(1))
+                    .build());
+            tem.persist(Booking.builder()
+                    .item(item)
+                    .booker(user)
+                    .status(Status.WAITING)
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(2))
+                    .build());
+            tem.flush();
+            bookingSummaries.refresh(saved.getId(), LocalDateTime.now());
+        }
+        tem.flush();
+        tem.clear();
+        Statistics statistics = tem.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<ItemDtoWithBookings> smallPage = itemService.findByOwner(itemOwner.getId(), 0, 2);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+        tem.clear();
+
+        statistics.clear();
+        List<ItemDtoWithBookings> largePage = itemService.findByOwner(itemOwner.getId(), 0, 10);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertThat(smallPage.size(), equalTo(2));
+        assertThat(largePage.size(), equalTo(10));
+        assertThat(largePage.get(9).getLastBooking(), notNullValue());
+        assertThat(largePage.get(9).getNextBooking(), notNullValue());
+        assertThat(largePageStatements, equalTo(smallPageStatements));
+        assertThat(largePageStatements, equalTo(1L));
+    }
+
+    @Test
+    void bookingSummaryFollowsBookingWritesAndTime() {
+        UserDto itemOwner = userService.create(userDto);
+        UserDto booker = userService.create(UserDto.builder()
+                .name("Андрей")
+                .email("andrew@ya.ru")
+                .build());
+        ItemDto item = itemService.create(itemOwner.getId(), itemDto);
+        assertThat(itemService.findByOwner(itemOwner.getId(), 0, 10).get(0).getNextBooking(), nullValue());
+
+        BookingFinishDto booking = bookingService.create(booker.getId(), BookingStartDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        ItemBookingSummary summary = tem.find(ItemBookingSummary.class, item.getId());
+        assertThat(summary.getNextBookingId(), equalTo(booking.getId()));
+        assertThat(summary.getRefreshAt(), equalTo(booking.getStart()));
+        assertThat(itemService.findByOwner(itemOwner.getId(), 0, 10).get(0).getNextBooking().getId(),
+                equalTo(booking.getId()));
+
+        LocalDateTime afterEnd = booking.getEnd().plusMinutes(1);
+        assertThat(bookingSummaries.refreshStale(afterEnd, 10), equalTo(1));
+        summary = tem.find(ItemBookingSummary.class, item.getId());
+        assertThat(summary.getLastBookingId(), equalTo(booking.getId()));
+        assertThat(summary.getNextBookingId(), nullValue());
+        assertThat(summary.getRefreshAt(), nullValue());
+    }
+
+    @Test
+    void consistencyCheckRepairsDivergedSummary() {
+        UserDto itemOwner = userService.create(userDto);
+        UserDto booker = userService.create(UserDto.builder()
+                .name("Андрей")
+                .email("andrew@ya.ru")
+                .build());
+        ItemDto item = itemService.create(itemOwner.getId(), itemDto);
+        tem.persist(Booking.builder()
+                .item(tem.find(Item.class, item.getId()))
+                .booker(tem.find(User.class, booker.getId()))
+                .status(Status.APPROVED)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        tem.flush();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(bookingSummaries.check(0, now, 10), equalTo(item.getId()));
+        assertThat(bookingSummaries.check(item.getId(), now, 10), equalTo(-1L));
+        assertThat(tem.find(ItemBookingSummary.class, item.getId()), equalTo(bookingSummaries.compute(item.getId(),
+                now)));
+        assertThat(tem.find(ItemBookingSummary.class, item.getId()).getNextBookingId(), notNullValue());
+    }
+
+    @Test
+    void createdItemsInsertSummariesWithoutSelectingThem() {
+        UserDto itemOwner = userService.create(userDto);
+        SqlStatementCounter.begin();
+        try {
+            List<BatchResult<ItemDto>> created = itemService.createAll(itemOwner.getId(),
+                    List.of(itemDto, itemDto, itemDto));
+            tem.flush();
+            assertThat(SqlStatementCounter.shapes().keySet(),
+                    everyItem(not(allOf(startsWith("select"), containsString("item_booking_summary")))));
+            assertThat(tem.find(ItemBookingSummary.class, created.get(2).getResult().getId()), notNullValue());
+        } finally {
+            SqlStatementCounter.end();
+        }
+    }
+
+    @Test
+    @Sql({"/schema.sql"})
+    void removingBookerRefreshesSummariesOfBookedItems() {
+        UserDto itemOwner = userService.create(userDto);
+        UserDto booker = userService.create(UserDto.builder()
+                .name("Андрей")
+                .email("andrew@ya.ru")
+                .build());
+        ItemDto item = itemService.create(itemOwner.getId(), itemDto);
+        bookingService.create(booker.getId(), BookingStartDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        assertThat(tem.find(ItemBookingSummary.class, item.getId()).getNextBookerId(), equalTo(booker.getId()));
+
+        userService.remove(booker.getId());
+        tem.flush();
+        tem.clear();
+        ItemBookingSummary summary = tem.find(ItemBookingSummary.class, item.getId());
+        assertThat(summary.getNextBookingId(), nullValue());
+        assertThat(summary.getNextBookerId(), nullValue());
+    }
+
+    @Test
+    void commentsArePagedNewestFirstAndCountedInItemDetail() {
+        UserDto itemOwner = userService.create(userDto);
+        ItemDto item = itemService.create(itemOwner.getId(), itemDto);
+        LocalDateTime created = LocalDateTime.now().minusDays(1).withNano(0);
+        Comment oldest = persistComment(item.getId(), itemOwner.getId(), "первый", created);
+        Comment middle = persistComment(item.getId(), itemOwner.getId(), "второй", created.plusHours(1));
+        Comment newest = persistComment(item.getId(), itemOwner.getId(), "третий", created.plusHours(1));
+
+        List<CommentDto> firstPage = itemService.findComments(item.getId(), 0, 2);
+        assertThat(firstPage.size(), equalTo(2));
+        assertThat(firstPage.get(0).getId(), equalTo(newest.getId()));
+        assertThat(firstPage.get(0).getAuthorName(), equalTo(userDto.getName()));
+        assertThat(firstPage.get(1).getId(), equalTo(middle.getId()));
+
+        CommentDto last = firstPage.get(1);
+        List<CommentDto> secondPage = itemService.findComments(item.getId(),
+                Cursor.of(last.getCreated(), last.getId()), 2);
+        assertThat(secondPage.size(), equalTo(1));
+        assertThat(secondPage.get(0).getId(), equalTo(oldest.getId()));
+        assertThat(itemService.findComments(item.getId(), 2, 2).get(0).getId(), equalTo(oldest.getId()));
+
+        ItemDtoWithComments found = itemService.findById(itemOwner.getId(), item.getId());
+        assertThat(found.getCommentCount(), equalTo(3L));
+        assertThat(found.getComments().get(0).getId(), equalTo(newest.getId()));
+
+        persistComment(item.getId(), itemOwner.getId(), "четвёртый", created.plusHours(2));
+        assertThat(itemService.findById(itemOwner.getId(), item.getId()).getCommentCount(), equalTo(3L));
+        commentCache.evict(item.getId());
+        assertThat(itemService.findById(itemOwner.getId(), item.getId()).getCommentCount(), equalTo(4L));
+    }
+
+    private Comment persistComment(long itemId, long authorId, String text, LocalDateTime created) {
+        Comment comment = Comment.builder()
+                .item(tem.find(Item.class, itemId))
+                .authorName(tem.find(User.class, authorId))
+                .text(text)
+                .created(created)
+                .build();
+        tem.persist(comment);
+        tem.flush();
+        return comment;
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.services.implementations;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.persistence.ReadRouting;
+import ru.practicum.shareit.persistence.ReplicaRoutingConfiguration;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+                "shareit.datasource.replica.urls=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+                "spring.sql.init.mode=never"
+        },
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReplicaRoutingTests {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private HikariDataSource primaryDataSource;
+    @Autowired
+    private ReplicaRoutingConfiguration.ReplicaPools replicaPools;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaPools.getPools().get("replica-0"));
+        primary.update("delete from users");
+        replica.execute("drop all objects");
+        primary.queryForList("script nodata", String.class).forEach(replica::execute);
+        replica.update("insert into users (user_id, user_name, email) values (100, 'replica', 'replica@mail.ru')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.end();
+    }
+
+    @Test
+    void readOnlyServiceMethodsReadFromReplica() {
+        userService.create(new UserDto(null, "primary", "primary@mail.ru"));
+
+        assertThat(names(userService.findAll()), equalTo(List.of("replica")));
+        assertThat(names(primary.queryForList("select user_name from users", String.class)),
+                equalTo(List.of("primary")));
+    }
+
+    @Test
+    void readsAfterWriteInSameRequestGoToPrimary() {
+        ReadRouting.begin(false);
+        assertThat(names(userService.findAll()), equalTo(List.of("replica")));
+
+        userService.create(new UserDto(null, "primary", "primary@mail.ru"));
+
+        assertThat(names(userService.findAll()), equalTo(List.of("primary")));
+    }
+
+    @Test
+    void readPrimaryOverrideSkipsReplica() {
+        primary.update("insert into users (user_id, user_name, email) values (200, 'primary', 'primary@mail.ru')");
+        ReadRouting.begin(true);
+
+        assertThat(names(userService.findAll()), equalTo(List.of("primary")));
+    }
+
+    @Test
+    void everyPoolReportsItsOwnMetrics() {
+        userService.findAll();
+
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge(), notNullValue());
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "replica-0").gauge(), notNullValue());
+    }
+
+    private static List<String> names(List<?> users) {
+        return users.stream()
+                .map(user -> user instanceof UserDto ? ((UserDto) user).getName() : user.toString())
+                .collect(Collectors.toList());
+    }
+}
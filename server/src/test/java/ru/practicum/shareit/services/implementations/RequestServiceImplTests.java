@@ -1,11 +1,14 @@
 package ru.practicum.shareit.services.implementations;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestDtoItems;
@@ -26,7 +29,7 @@ import static org.hamcrest.Matchers.notNullValue;
 
 @Transactional
 @SpringBootTest(
-        properties = "db.name=test",
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class RequestServiceImplTests {
@@ -148,4 +151,43 @@ class RequestServiceImplTests {
         assertThat(requests.get(1).getUser(), equalTo(UserMapper.toUser(userToSave)));
         assertThat(requests.get(1).getDescription(), equalTo(secondRequestToSave.getDescription()));
     }
+
+    @Test
+    void findAllOtherUsersRequestsRunsConstantNumberOfStatements() {
+        UserDto reader = userService.create(userDto);
+        for (int i = 0; i < 6; i++) {
+            UserDto author = userService.create(UserDto.builder()
+                    .name("Автор " + i)
+                    .email("author" + i + "@ya.ru")
+                    .build());
+            UserDto owner = userService.create(UserDto.builder()
+                    .name("Владелец " + i)
+                    .email("owner" + i + "@ya.ru")
+                    .build());
+            ItemRequestDto request = requestService.create(author.getId(), requestShortDto);
+            itemService.create(owner.getId(), ItemDto.builder()
+                    .name("Велосипед " + i)
+                    .description("Горный")
+                    .available(true)
+                    .requestId(request.getId())
+                    .build());
+        }
+        tem.flush();
+        tem.clear();
+        Statistics statistics = tem.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<RequestDtoItems> smallPage = requestService.findAllUsersRequests(reader.getId(), 0, 2);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+        tem.clear();
+
+        statistics.clear();
+        List<RequestDtoItems> largePage = requestService.findAllUsersRequests(reader.getId(), 0, 6);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertThat(smallPage.size(), equalTo(2));
+        assertThat(largePage.size(), equalTo(6));
+        assertThat(largePage.get(5).getItems().size(), equalTo(1));
+        assertThat(largePageStatements, equalTo(smallPageStatements));
+    }
 }
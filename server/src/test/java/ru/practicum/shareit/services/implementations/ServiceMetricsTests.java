@@ -0,0 +1,85 @@
+package ru.practicum.shareit.services.implementations;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.errors.exceptions.UserNotFoundException;
+import ru.practicum.shareit.metrics.ServiceMetricsAspect;
+import ru.practicum.shareit.metrics.SqlStatementMetricsFilter;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "db.name=test")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@Sql({"/schema.sql"})
+class ServiceMetricsTests {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void serviceMethodsAreTimedByOutcomeAndException() {
+        userService.create(new UserDto(null, "Тестировщик", "metrics@ya.ru"));
+        assertThrows(UserNotFoundException.class, () -> userService.findById(100L));
+
+        Timer created = meterRegistry.find(ServiceMetricsAspect.METRIC)
+                .tags("service", "UserService", "method", "create", "outcome", "success", "exception", "none")
+                .timer();
+        Timer notFound = meterRegistry.find(ServiceMetricsAspect.METRIC)
+                .tags("service", "UserService", "method", "findById", "outcome", "error",
+                        "exception", "UserNotFoundException")
+                .timer();
+
+        assertThat(created, notNullValue());
+        assertThat(created.count(), greaterThanOrEqualTo(1L));
+        assertThat(notFound, notNullValue());
+        assertThat(notFound.count(), greaterThanOrEqualTo(1L));
+    }
+
+    @Test
+    void sqlStatementsAreCountedPerRequest() throws Exception {
+        userService.create(new UserDto(null, "Тестировщик", "metrics@ya.ru"));
+
+        mockMvc.perform(get("/users")).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find(SqlStatementMetricsFilter.METRIC)
+                .tags("method", "GET", "uri", "/users")
+                .summary();
+        assertThat(statements, notNullValue());
+        assertThat(statements.count(), greaterThanOrEqualTo(1L));
+        assertThat(statements.max(), equalTo(1.0));
+    }
+
+    @Test
+    void metricsArePublishedInPrometheusFormat() throws Exception {
+        userService.findAll();
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_count{")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hikaricp_connections")));
+    }
+}
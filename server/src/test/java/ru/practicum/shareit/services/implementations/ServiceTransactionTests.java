@@ -0,0 +1,86 @@
+package ru.practicum.shareit.services.implementations;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.cache.EntityCache;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ServiceTransactionTests {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @SpyBean
+    private EntityCache entityCache;
+
+    private final List<Object> observed = new ArrayList<>();
+    private Long userId;
+
+    @AfterEach
+    void afterEach() {
+        if (userId != null)
+            userRepository.deleteById(userId);
+    }
+
+    @Test
+    void readMethodRunsInReadOnlySessionWithManualFlush() {
+        Mockito.doAnswer(invocation -> {
+            observe();
+            return true;
+        }).when(entityCache).userExists(1L);
+
+        bookingService.getUserBookings(1L, "ALL", 0, 10);
+
+        assertThat(observed, equalTo(List.of(true, true, FlushMode.MANUAL, true)));
+    }
+
+    @Test
+    void writeMethodRunsInOneReadWriteTransaction() {
+        userId = userService.create(UserDto.builder()
+                .name("Транзакция")
+                .email("transaction@ya.ru")
+                .build()).getId();
+        Mockito.doAnswer(invocation -> {
+            observe();
+            return null;
+        }).when(entityCache).evictUser(userId);
+
+        userService.update(userId, UserDto.builder()
+                .name("Транзакция обновлена")
+                .build());
+
+        assertThat(observed, equalTo(List.of(true, false, FlushMode.AUTO, false)));
+    }
+
+    private void observe() {
+        Session session = entityManager.unwrap(Session.class);
+        observed.add(TransactionSynchronizationManager.isActualTransactionActive());
+        observed.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        observed.add(session.getHibernateFlushMode());
+        observed.add(session.isDefaultReadOnly());
+    }
+}
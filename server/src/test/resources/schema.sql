@@ -0,0 +1,90 @@
+DROP TABLE IF EXISTS booking_events, item_booking_summary, users, item_request, item, booking, comments;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS item_request_seq;
+DROP SEQUENCE IF EXISTS item_seq;
+DROP SEQUENCE IF EXISTS booking_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+DROP SEQUENCE IF EXISTS booking_events_seq;
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE item_request_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE item_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE booking_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE booking_events_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS users (
+  user_id int GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  user_name VARCHAR(50) NOT NULL,
+  email VARCHAR(50) NOT NULL UNIQUE,
+  CONSTRAINT pk_users PRIMARY KEY(user_id)
+);
+
+CREATE TABLE IF NOT EXISTS item_request (
+  request_id int GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+  request_description VARCHAR(1000) NOT NULL,
+  user_id int REFERENCES users(user_id),
+  creation_time TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS item (
+  item_id int GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+  item_name VARCHAR(100) NOT NULL,
+  item_description VARCHAR(1000),
+  is_available BOOLEAN DEFAULT FALSE,
+  owner_id int,
+  request_id int,
+  FOREIGN KEY(owner_id) REFERENCES users(user_id) ON DELETE CASCADE,
+  FOREIGN KEY(request_id) REFERENCES item_request(request_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS booking (
+    booking_id INT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    item_id INT,
+    booker_id INT,
+    status VARCHAR(20) NOT NULL DEFAULT 'WAITING',
+    CONSTRAINT pk_booking PRIMARY KEY(booking_id),
+    FOREIGN KEY(item_id) REFERENCES item(item_id) ON DELETE CASCADE,
+    FOREIGN KEY(booker_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS comments (
+    comment_id INT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    item_id INT,
+    author_id INT,
+    text VARCHAR(1000) NOT NULL,
+    created TIMESTAMP,
+    CONSTRAINT pk_comments PRIMARY KEY(comment_id),
+    FOREIGN KEY(item_id) REFERENCES item(item_id) ON DELETE CASCADE,
+    FOREIGN KEY(author_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+    item_id INT PRIMARY KEY NOT NULL,
+    last_booking_id INT,
+    last_booker_id INT,
+    last_start_date TIMESTAMP,
+    last_end_date TIMESTAMP,
+    next_booking_id INT,
+    next_booker_id INT,
+    next_start_date TIMESTAMP,
+    next_end_date TIMESTAMP,
+    refresh_at TIMESTAMP,
+    FOREIGN KEY(item_id) REFERENCES item(item_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS booking_events (
+    event_id BIGINT PRIMARY KEY NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    booking_id INT NOT NULL,
+    item_id INT NOT NULL,
+    booker_id INT NOT NULL,
+    owner_id INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP,
+    dispatched_at TIMESTAMP,
+    last_error VARCHAR(400)
+);